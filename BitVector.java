@@ -1,5 +1,5 @@
-import java.util.ArrayList;
-
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
 
 
@@ -8,9 +8,19 @@ import java.util.List;
  * bits (0 or 1) of arbitrary-length. We define some useful functionality for you
  * to use to implement the Quine-McCluskey algorithm, but you may freely add your
  * own operations if you wish. We will compile and test with your own BitVector class.
+ *
+ * The word loops behind the bulk operations are delegated to a BulkOps
+ * implementation. ScalarBulkOps is the default. VectorBulkOps (SIMD, built from
+ * vector/) is used with -DBitVector.vector=true, if it is on the classpath and
+ * the jdk.incubator.vector module is available. It only pays off on rows of
+ * many thousands of bits; on shorter rows the scalar loops, which the JIT
+ * already unrolls, are as fast or faster.
+ * Both give identical results.
  */
 public class BitVector {
-	private List<Long> bitVectorList;
+	private static final BulkOps OPS = selectBulkOps();
+
+	private long[] words;
 	private int mySize;
 	
 
@@ -18,29 +28,51 @@ public class BitVector {
 	public BitVector(int size) {
 		mySize = size;
 		int adjustedSize = ((size-1) / 64) + 1;
-		bitVectorList = new ArrayList<Long>();
-		for(int i = 0; i < adjustedSize; i++) {
-			long newLong = 0;
-			bitVectorList.add(newLong);
-		}
+		words = new long[adjustedSize];
 	}
 
 
+	/* Copies the list of longs; later changes to the list do not reach the BitVector */
 	public BitVector(int size, List<Long> list) {
 		mySize = size;
-		bitVectorList = list;
+		words = new long[list.size()];
+		for(int i = 0; i < words.length; i++)
+			words[i] = list.get(i);
+	}
+
+
+	/* Wraps an array of longs without copying it */
+	public BitVector(int size, long[] words) {
+		mySize = size;
+		this.words = words;
+	}
+
+
+	/* Picks the SIMD kernels if asked to and they can be loaded, else the scalar ones */
+	private static BulkOps selectBulkOps() {
+		if(Boolean.getBoolean("BitVector.vector")) {
+			try {
+				return (BulkOps) Class.forName("VectorBulkOps").getDeclaredConstructor().newInstance();
+			} catch(Exception | LinkageError e) {
+				// Not compiled in, or jdk.incubator.vector was not added at launch
+			}
+		}
+		return new ScalarBulkOps();
+	}
+
+
+	/* Name of the bulk operation implementation in use */
+	public static String getBulkOpsName() {
+		return OPS.getClass().getName();
 	}
 
 
 	/* Checks for size (automatically pads with 0s if too small) */
 	public void verifySize(int index) {
 		if((index + 1) > mySize) {
-			int oldAdjustedSize = ((mySize-1) / 64) + 1;
 			int newAdjustedSize = ((index) / 64) + 1;
-			for(int i = oldAdjustedSize; i < newAdjustedSize; i++) {
-				long newLong = 0;
-				bitVectorList.add(newLong);
-			}
+			if(newAdjustedSize > words.length)
+				words = Arrays.copyOf(words, newAdjustedSize);
 			mySize = index + 1;
 		}
 	}
@@ -50,10 +82,8 @@ public class BitVector {
 	public void setBit(int index) {
 		verifySize(index);
 		int adjustedSize = (index / 64);
-		long bitVectorChunk = bitVectorList.get(adjustedSize);
 		long one = 1;
-		bitVectorChunk = bitVectorChunk | (one << (index % 64));
-		bitVectorList.set(adjustedSize, bitVectorChunk);
+		words[adjustedSize] |= (one << (index % 64));
 	}
 	
 
@@ -61,11 +91,8 @@ public class BitVector {
 	public void clearBit(int index) {
 		verifySize(index);
 		int adjustedSize = (index / 64);
-		long bitVectorChunk = bitVectorList.get(adjustedSize);
 		long one = 1;
-		long mask = bitVectorChunk & (one << (index % 64));
-		bitVectorChunk = bitVectorChunk & (~mask);
-		bitVectorList.set(adjustedSize, bitVectorChunk);
+		words[adjustedSize] &= ~(one << (index % 64));
 	}
 
 
@@ -73,9 +100,8 @@ public class BitVector {
 	public int getBit(int index) {
 		verifySize(index);
 		int adjustedSize = (index / 64);
-		long bitVectorChunk = bitVectorList.get(adjustedSize);
 		long one = 1;
-		bitVectorChunk = bitVectorChunk & (one << (index % 64));
+		long bitVectorChunk = words[adjustedSize] & (one << (index % 64));
 		return (bitVectorChunk != 0)? 1 : 0;
 	}
 	
@@ -83,20 +109,20 @@ public class BitVector {
 	/* Check for 0 across all longs */
 	public boolean isZero() {
 		long myLong;
-		for(int i = 0; i < bitVectorList.size()-1; ++i) {
-			myLong = bitVectorList.get(i);
+		for(int i = 0; i < words.length-1; ++i) {
+			myLong = words[i];
 			if(myLong != 0) 
 				return false;
 		}
-		myLong = bitVectorList.get(bitVectorList.size()-1);
-		long mask = (-1) << (mySize % 64);
+		myLong = words[words.length-1];
+		long mask = (mySize % 64 == 0) ? 0 : (-1L) << (mySize % 64);
 		return (myLong & (~mask)) == 0;
 	}
 
 	/* Perform a bitwise-not operation on the BitVector */
 	public void invert() {
-		for(int i = 0; i < bitVectorList.size(); i++)
-			bitVectorList.set(i, ~bitVectorList.get(i));
+		for(int i = 0; i < words.length; i++)
+			words[i] = ~words[i];
 	}
 
 
@@ -120,38 +146,82 @@ public class BitVector {
 	}
 	
 
-	/* Get internal list of longs */
+	/* Get the internal longs as a list; set() writes through to the BitVector, but the length cannot change */
 	public List<Long> getBitVectorList() {
-		return bitVectorList;
+		return new AbstractList<Long>() {
+			public Long get(int index) {
+				return words[index];
+			}
+
+			public Long set(int index, Long word) {
+				long old = words[index];
+				words[index] = word;
+				return old;
+			}
+
+			public int size() {
+				return words.length;
+			}
+		};
+	}
+
+
+	/* Get the internal long at the given index (bits 64*index to 64*index+63) */
+	public long getLong(int index) {
+		return words[index];
+	}
+
+
+	/* Get the number of internal longs */
+	public int getNumLongs() {
+		return words.length;
+	}
+
+
+	/* Creates an independent copy of the BitVector */
+	public BitVector copy() {
+		return new BitVector(mySize, words.clone());
 	}
 
 
 	/* Get index of the first non-zero bit (across all of the longs) */
 	public int getFirstBitIdx() {
 		int k = 0;
-		while(bitVectorList.get(k) == 0)
+		while(words[k] == 0)
 			k++;
-		return 64*k + Long.numberOfTrailingZeros(bitVectorList.get(k));
+		return 64*k + Long.numberOfTrailingZeros(words[k]);
 	}
-	
+
+
+	/* Get index of the first non-zero bit at or after fromIndex, or -1 if there is none */
+	public int getNextBitIdx(int fromIndex) {
+		if(fromIndex >= mySize)
+			return -1;
+		int k = fromIndex / 64;
+		long word = words[k] & ((-1L) << (fromIndex % 64));
+		while(word == 0) {
+			if(++k == words.length)
+				return -1;
+			word = words[k];
+		}
+		int index = 64*k + Long.numberOfTrailingZeros(word);
+		return (index < mySize) ? index : -1;
+	}
+
 
 	/* Returns the number of set bits in the BitVector */
 	public int getCardinality() {
-		int cardinality = 0;
-		for(int i = 0; i < bitVectorList.size(); i++) {
-			cardinality += Long.bitCount(bitVectorList.get(i));
-		}
-		return cardinality;
+		return OPS.popcount(words, words.length);
 	}
 	
 
 	/* Prints the BitVector's value in hexadecimal */
 	public String toString() {
 		StringBuilder sb = new StringBuilder("[");
-		sb.append(Long.toHexString(bitVectorList.get(0)));
-		for(int i = 1; i < bitVectorList.size(); ++i) {
+		sb.append(Long.toHexString(words[0]));
+		for(int i = 1; i < words.length; ++i) {
 			sb.append(",");
-			sb.append(Long.toHexString(bitVectorList.get(i)));
+			sb.append(Long.toHexString(words[i]));
 		}
 		sb.append("]");
 		return sb.toString();
@@ -160,10 +230,10 @@ public class BitVector {
 	/* Prints the BitVector's value in binary */
 	public String toBinaryString() {
 		StringBuilder sb = new StringBuilder("[");
-		sb.append(Long.toBinaryString(bitVectorList.get(0)));
-		for(int i = 1; i < bitVectorList.size(); ++i) {
+		sb.append(Long.toBinaryString(words[0]));
+		for(int i = 1; i < words.length; ++i) {
 			sb.append(",");
-			sb.append(Long.toBinaryString(bitVectorList.get(i)));
+			sb.append(Long.toBinaryString(words[i]));
 		}
 		sb.append("]");
 		return sb.toString();
@@ -171,27 +241,31 @@ public class BitVector {
 
 	/* Checks for bitwise equality between two BitVectors */
 	public boolean equals(BitVector bitVector) {
-		int numLongs = (Math.min(bitVector.getSize(), getSize()) / 64) + 1;
-		for(int i = 0; i < numLongs; i++) {
-			long chunk1 = bitVector.getBitVectorList().get(i);
-			long chunk2 = getBitVectorList().get(i);
-			if(chunk1 != chunk2) return false;
-		}
-		return true;
+		int numLongs = ((Math.min(bitVector.getSize(), getSize()) - 1) / 64) + 1;
+		return Arrays.equals(bitVector.words, 0, numLongs, words, 0, numLongs);
+	}
+
+
+	/* Checks whether every set bit of this BitVector is also set in the other one */
+	public boolean isSubsetOf(BitVector bitVector) {
+		int numLongs = ((Math.min(bitVector.getSize(), getSize()) - 1) / 64) + 1;
+		return OPS.isSubset(words, bitVector.words, numLongs);
+	}
+
+
+	/* Same as intersection(mask).isSubsetOf(bitVector.intersection(mask)), without the copies */
+	public boolean isSubsetOf(BitVector bitVector, BitVector mask) {
+		int numLongs = ((Math.min(Math.min(bitVector.getSize(), getSize()), mask.getSize()) - 1) / 64) + 1;
+		return OPS.isSubsetWithin(words, bitVector.words, mask.words, numLongs);
 	}
 	
 
 	/* Creates a new BitVector object that corresponds to performing a bitwise-or */
 	public BitVector union(BitVector bitVector) {
 		int size = Math.min(bitVector.getSize(), getSize());
-		int numLongs = (size / 64) + 1;
-		List<Long> newBitVector = new ArrayList<Long>();
-		for(int i = 0; i < numLongs; i++) {
-			long chunk1 = bitVector.getBitVectorList().get(i);
-			long chunk2 = getBitVectorList().get(i);
-			long newChunk = chunk1 | chunk2;
-			newBitVector.add(newChunk);
-		}
+		int numLongs = ((size - 1) / 64) + 1;
+		long[] newBitVector = new long[numLongs];
+		OPS.or(bitVector.words, words, newBitVector, numLongs);
 		return new BitVector(size, newBitVector);
 	}
 	
@@ -199,14 +273,9 @@ public class BitVector {
 	/* Creates a new BitVector object that corresponds to performing a bitwise-and */
 	public BitVector intersection(BitVector bitVector) {
 		int size = Math.min(bitVector.getSize(), getSize());
-		int numLongs = (size / 64) + 1;
-		List<Long> newBitVector = new ArrayList<Long>();
-		for(int i = 0; i < numLongs; i++) {
-			long chunk1 = bitVector.getBitVectorList().get(i);
-			long chunk2 = getBitVectorList().get(i);
-			long newChunk = chunk1 & chunk2;
-			newBitVector.add(newChunk);
-		}
+		int numLongs = ((size - 1) / 64) + 1;
+		long[] newBitVector = new long[numLongs];
+		OPS.and(bitVector.words, words, newBitVector, numLongs);
 		return new BitVector(size, newBitVector);
 	}
 	
@@ -214,14 +283,19 @@ public class BitVector {
 	/* Creates a new BitVector object that corresponds to performing a bitwise-xor */
 	public BitVector correspondence(BitVector bitVector) {
 		int size = Math.min(bitVector.getSize(), getSize());
-		int numLongs = (size / 64) + 1;
-		List<Long> newBitVector = new ArrayList<Long>();
-		for(int i = 0; i < numLongs; i++) {
-			long chunk1 = bitVector.getBitVectorList().get(i);
-			long chunk2 = getBitVectorList().get(i);
-			long newChunk = chunk1 ^ chunk2;
-			newBitVector.add(newChunk);
-		}
+		int numLongs = ((size - 1) / 64) + 1;
+		long[] newBitVector = new long[numLongs];
+		OPS.xor(bitVector.words, words, newBitVector, numLongs);
+		return new BitVector(size, newBitVector);
+	}
+
+
+	/* Creates a new BitVector object with the bits of the other BitVector cleared (and-not) */
+	public BitVector difference(BitVector bitVector) {
+		int size = Math.min(bitVector.getSize(), getSize());
+		int numLongs = ((size - 1) / 64) + 1;
+		long[] newBitVector = new long[numLongs];
+		OPS.andNot(words, bitVector.words, newBitVector, numLongs);
 		return new BitVector(size, newBitVector);
 	}
 }
@@ -0,0 +1,28 @@
+/**
+ * Word-level kernels behind the bulk operations of BitVector. Every method
+ * works on the first length longs of its arrays; out may not alias an input.
+ * Implementations must give bit-for-bit identical results, so that BitVector
+ * can pick whichever one runs fastest on the current JVM.
+ */
+public interface BulkOps {
+	/* out = a & b */
+	void and(long[] a, long[] b, long[] out, int length);
+
+	/* out = a | b */
+	void or(long[] a, long[] b, long[] out, int length);
+
+	/* out = a ^ b */
+	void xor(long[] a, long[] b, long[] out, int length);
+
+	/* out = a & ~b */
+	void andNot(long[] a, long[] b, long[] out, int length);
+
+	/* Number of set bits in a */
+	int popcount(long[] a, int length);
+
+	/* True if (a & ~b) is zero, i.e. a's bits are a subset of b's */
+	boolean isSubset(long[] a, long[] b, int length);
+
+	/* True if (a & mask & ~b) is zero, i.e. a's bits within mask are a subset of b's */
+	boolean isSubsetWithin(long[] a, long[] b, long[] mask, int length);
+}
@@ -0,0 +1,297 @@
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caches final covers so that a function which has already been minimized is
+ * answered without building an ImplicantMintermTable at all. Functions are
+ * keyed by a SHA-256 hash of their canonical form (number of variables, sorted
+ * packed minterms and, optionally, the sorted packed prime implicants), so two
+ * calls that only list minterms or implicants in a different order share an
+ * entry. Example usage:
+ *     CoverCache cache = new CoverCache(64 << 20, new File("covers.cache"));
+ *     List<String> finalCover = cache.minimize(numVars, implicants, minterms);
+ *
+ * Entries live in an in-memory LRU tier bounded by an estimate of their size
+ * in bytes. If a file is given, every new entry is also appended to it, and
+ * the existing contents of the file are memory-mapped when the cache is
+ * opened, so a restarted process starts with every cover it has ever found.
+ * The file only ever holds one record per key, so it never needs compacting;
+ * it is mapped in chunks, so it may grow past what one mapping can hold.
+ */
+public class CoverCache {
+	private static final int KEY_LENGTH = 64; // SHA-256 digest as hex characters
+	private static final int ENTRY_OVERHEAD = 64; // Rough per-entry bookkeeping cost
+	private static final long CHUNK_BYTES = 1L << 30; // Largest part of the file mapped at once
+
+	private LinkedHashMap<String, List<String>> memoryTier; // Access-ordered
+	private long maxMemoryBytes;
+	private long memoryBytes;
+	private Map<String, Long> diskIndex; // Key -> file offset of its record
+	private FileChannel diskChannel;
+	private List<MappedByteBuffer> diskMap; // File contents as of startup, CHUNK_BYTES per mapping
+	private long mappedEnd; // End of the records indexed at startup; later ones are read from the channel
+	private long diskEnd; // Offset at which the next record is appended
+
+
+	/* Create a memory-only cache holding roughly maxMemoryBytes worth of covers */
+	public CoverCache(long maxMemoryBytes) {
+		this.memoryTier = new LinkedHashMap<String, List<String>>(16, 0.75f, true);
+		this.maxMemoryBytes = maxMemoryBytes;
+		this.diskIndex = new HashMap<String, Long>();
+	}
+
+
+	/* Create a cache backed by an append-only file (created if it does not exist) */
+	public CoverCache(long maxMemoryBytes, File diskFile) throws IOException {
+		this(maxMemoryBytes);
+		diskChannel = new RandomAccessFile(diskFile, "rw").getChannel();
+		long size = diskChannel.size();
+		diskMap = new ArrayList<MappedByteBuffer>();
+		try {
+			for (long start = 0; start < size; start += CHUNK_BYTES)
+				diskMap.add(diskChannel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(CHUNK_BYTES, size - start)));
+			mappedEnd = size;
+
+			// Index every complete record; a partial record at the tail is what an
+			// interrupted append leaves behind, so it is dropped
+			long pos = 0;
+			while (pos + KEY_LENGTH + 4 <= size) {
+				ByteBuffer header = read(pos, KEY_LENGTH + 4);
+				int bodyLength = header.getInt(KEY_LENGTH);
+				if (bodyLength < 0 || pos + KEY_LENGTH + 4 + (long) bodyLength > size)
+					break;
+				byte[] key = new byte[KEY_LENGTH];
+				header.get(key);
+				diskIndex.put(new String(key, StandardCharsets.US_ASCII), pos);
+				pos += KEY_LENGTH + 4 + bodyLength;
+			}
+			diskEnd = pos;
+			mappedEnd = pos; // Anything past it is rewritten by later appends
+			if (diskEnd < size)
+				diskChannel.truncate(diskEnd);
+		} catch (IOException e) {
+			diskChannel.close();
+			throw e;
+		}
+	}
+
+
+	/**
+	 * Returns the final cover for the function, as createFinalCover() would,
+	 * solving it only if neither tier already holds it. A cached cover has the
+	 * same implicants, but lists them in the order of the call that solved it,
+	 * so the order of the list is unspecified.
+	 */
+	public List<String> minimize(int numVars, List<String> implicants, List<String> minterms) {
+		String key = key(numVars, minterms, implicants);
+		List<String> cover = get(key);
+		if (cover == null) {
+			cover = new ImplicantMintermTable(numVars, implicants, minterms).createFinalCover();
+			put(key, cover);
+		}
+		return cover;
+	}
+
+
+	/**
+	 * Computes the canonical key of a function. Minterms are packed into longs
+	 * with bit i set for each uncomplemented i-th literal; implicants also carry
+	 * the mask of literals they contain in their upper 32 bits. Both are sorted,
+	 * so the key does not depend on the order they were listed in. Implicants
+	 * may be null when the cover does not depend on a particular prime set.
+	 */
+	public static String key(int numVars, List<String> minterms, List<String> implicants) {
+		long[] packedMinterms = new long[minterms.size()];
+		for (int i = 0; i < packedMinterms.length; i++)
+			packedMinterms[i] = Tabulation.packValue(minterms.get(i));
+		Arrays.sort(packedMinterms);
+
+		long[] packedImplicants = new long[0];
+		if (implicants != null) {
+			packedImplicants = new long[implicants.size()];
+			for (int i = 0; i < packedImplicants.length; i++)
+				packedImplicants[i] = (Tabulation.packMask(implicants.get(i)) << 32) | Tabulation.packValue(implicants.get(i));
+			Arrays.sort(packedImplicants);
+		}
+
+		ByteBuffer canonical = ByteBuffer.allocate(13 + 8 * (packedMinterms.length + packedImplicants.length));
+		canonical.putInt(numVars);
+		canonical.putInt(packedMinterms.length);
+		for (long minterm : packedMinterms)
+			canonical.putLong(minterm);
+		canonical.put((byte) (implicants == null ? 0 : 1));
+		canonical.putInt(packedImplicants.length);
+		for (long implicant : packedImplicants)
+			canonical.putLong(implicant);
+
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.array());
+			StringBuilder sb = new StringBuilder();
+			for (byte b : digest)
+				sb.append(String.format("%02x", b));
+			return sb.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e); // Every JRE is required to provide SHA-256
+		}
+	}
+
+
+	/* Returns a copy of the cached cover, or null if neither tier has the key */
+	public synchronized List<String> get(String key) {
+		List<String> cover = memoryTier.get(key);
+		if (cover == null) {
+			Long offset = diskIndex.get(key);
+			if (offset == null)
+				return null;
+			cover = readRecord(offset);
+			remember(key, cover);
+		}
+		return new ArrayList<String>(cover);
+	}
+
+
+	/**
+	 * Caches a cover in memory, and appends it to the file if it is new there.
+	 * The key must be one returned by key(), since file records have room for
+	 * exactly that many characters.
+	 */
+	public synchronized void put(String key, List<String> cover) {
+		if (!isKey(key))
+			throw new IllegalArgumentException("Not a cache key (" + KEY_LENGTH + " hex digits): " + key);
+		cover = new ArrayList<String>(cover);
+		remember(key, cover);
+		if (diskChannel != null && !diskIndex.containsKey(key)) {
+			ByteBuffer record = encodeRecord(key, cover);
+			try {
+				long offset = diskEnd;
+				while (record.hasRemaining())
+					diskEnd += diskChannel.write(record, diskEnd);
+				diskIndex.put(key, offset);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+
+	/* Releases the backing file, if there is one */
+	public synchronized void close() throws IOException {
+		if (diskChannel != null) {
+			diskChannel.close();
+			diskChannel = null;
+			diskMap = null;
+			diskIndex.clear();
+		}
+	}
+
+
+	/* Inserts into the LRU tier, evicting least-recently-used entries past the size limit */
+	private void remember(String key, List<String> cover) {
+		List<String> old = memoryTier.put(key, cover);
+		if (old != null)
+			memoryBytes -= estimateBytes(key, old);
+		memoryBytes += estimateBytes(key, cover);
+
+		Iterator<Map.Entry<String, List<String>>> eldest = memoryTier.entrySet().iterator();
+		while (memoryBytes > maxMemoryBytes && eldest.hasNext()) {
+			Map.Entry<String, List<String>> entry = eldest.next();
+			memoryBytes -= estimateBytes(entry.getKey(), entry.getValue());
+			eldest.remove();
+		}
+	}
+
+
+	/* Checks that the key has the form key() gives it: KEY_LENGTH lowercase hex digits */
+	private static boolean isKey(String key) {
+		if (key == null || key.length() != KEY_LENGTH)
+			return false;
+		for (int i = 0; i < KEY_LENGTH; i++) {
+			char c = key.charAt(i);
+			if (!(c >= '0' && c <= '9') && !(c >= 'a' && c <= 'f'))
+				return false;
+		}
+		return true;
+	}
+
+
+	/* Approximate heap footprint of one entry */
+	private static long estimateBytes(String key, List<String> cover) {
+		long bytes = ENTRY_OVERHEAD + 2L * key.length();
+		for (String implicant : cover)
+			bytes += 40 + 2L * implicant.length();
+		return bytes;
+	}
+
+
+	/* Record layout: key (ASCII), body length (int), implicant count (int), then (short length, ASCII) per implicant */
+	private static ByteBuffer encodeRecord(String key, List<String> cover) {
+		int bodyLength = 4;
+		for (String implicant : cover)
+			bodyLength += 2 + implicant.length();
+		ByteBuffer record = ByteBuffer.allocate(KEY_LENGTH + 4 + bodyLength);
+		record.put(key.getBytes(StandardCharsets.US_ASCII));
+		record.putInt(bodyLength);
+		record.putInt(cover.size());
+		for (String implicant : cover) {
+			record.putShort((short) implicant.length());
+			record.put(implicant.getBytes(StandardCharsets.US_ASCII));
+		}
+		record.flip();
+		return record;
+	}
+
+
+	/* Decodes the record at offset */
+	private List<String> readRecord(long offset) {
+		ByteBuffer body;
+		try {
+			int bodyLength = read(offset + KEY_LENGTH, 4).getInt(0);
+			body = read(offset + KEY_LENGTH + 4, bodyLength);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		int count = body.getInt();
+		List<String> cover = new ArrayList<String>(count);
+		for (int i = 0; i < count; i++) {
+			byte[] implicant = new byte[body.getShort()];
+			body.get(implicant);
+			cover.add(new String(implicant, StandardCharsets.US_ASCII));
+		}
+		return cover;
+	}
+
+
+	/* Reads length bytes at offset: from the mapping if it holds all of them, from the file otherwise */
+	private ByteBuffer read(long offset, int length) throws IOException {
+		if (offset + length <= mappedEnd) {
+			MappedByteBuffer chunk = diskMap.get((int) (offset / CHUNK_BYTES));
+			int start = (int) (offset % CHUNK_BYTES);
+			if (start + length <= chunk.limit())
+				return chunk.slice(start, length);
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(length);
+		while (buffer.hasRemaining()) {
+			if (diskChannel.read(buffer, offset + buffer.position()) < 0)
+				throw new EOFException("Cache record past the end of the file");
+		}
+		buffer.flip();
+		return buffer;
+	}
+}
@@ -0,0 +1,60 @@
+/**
+ * The implicant/minterm coverage matrix behind ImplicantMintermTable: one row
+ * for each implicant and one column for each minterm, with a bit set wherever
+ * the implicant covers the minterm. Implementations keep both a row-major and
+ * a column-major copy so that rows and columns are equally cheap to scan.
+ *
+ * HeapCoverageMatrix (the default) keeps them as BitVector arrays;
+ * OffHeapCoverageMatrix (built from foreign/) keeps them outside the Java heap.
+ * The search loops only use the index-based methods below, which both backends
+ * answer in place; getRow()/getColumn() may have to copy.
+ */
+public interface CoverageMatrix {
+	/* Creates empty matrices of a given shape; handed to the ImplicantMintermTable constructors */
+	interface Factory {
+		CoverageMatrix create(int numRows, int numColumns);
+	}
+
+	int getNumRows();
+
+	int getNumColumns();
+
+	/* Marks that the row's implicant covers the column's minterm */
+	void setBit(int row, int column);
+
+	/* Returns 1 (int) if the row's implicant covers the column's minterm, else 0 */
+	int getBit(int row, int column);
+
+	/* The row as a BitVector with one bit per column (may be a copy); callers must not modify it */
+	BitVector getRow(int row);
+
+	/* The column as a BitVector with one bit per row (may be a copy); callers must not modify it */
+	BitVector getColumn(int column);
+
+	/* Index of the first column at or after fromColumn that the row covers, or -1 if there is none */
+	int nextInRow(int row, int fromColumn);
+
+	/* Index of the first row at or after fromRow that covers the column, or -1 if there is none */
+	int nextInColumn(int column, int fromRow);
+
+	/* Checks whether every column in columnMask that the row covers is also covered by otherRow */
+	boolean isRowSubset(int row, int otherRow, BitVector columnMask);
+
+	/* Checks whether every row in rowMask that covers the column also covers otherColumn */
+	boolean isColumnSubset(int column, int otherColumn, BitVector rowMask);
+
+	/* Number of set bits in the row that are also set in columnMask */
+	int countRow(int row, BitVector columnMask);
+
+	/* Number of set bits in the column that are also set in rowMask */
+	int countColumn(int column, BitVector rowMask);
+
+	/* Whether addRow() and addColumn() are supported */
+	boolean canGrow();
+
+	/* Appends an empty row and returns its index */
+	int addRow();
+
+	/* Appends an empty column and returns its index */
+	int addColumn();
+}
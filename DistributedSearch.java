@@ -0,0 +1,302 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spreads the cyclic-core search of ImplicantMintermTable over several worker
+ * processes on this machine, connected over loopback sockets. Example usage:
+ *     try (DistributedSearch search = new DistributedSearch(4, true)) {
+ *         List<String> finalCover = search.minimize(numVars, implicants, minterms);
+ *     }
+ *
+ * Every worker builds the same table. The search tree is handed out as
+ * Subtrees: the first worker gets the root, and whenever a worker runs out of
+ * work, a busy one is asked to give away the shallowest branch it has not
+ * started yet (work stealing). A worker that finds a cover reports its size
+ * at once, and the coordinator passes it on to the others as their new
+ * bound. The cover returned is the one createFinalCover() would return: of
+ * the smallest covers found, the one whose Subtree path comes first.
+ *
+ * With separateProcesses false, the workers are threads of this process that
+ * still talk to the coordinator over loopback sockets, which keeps the whole
+ * protocol testable without spawning JVMs.
+ */
+public class DistributedSearch implements AutoCloseable {
+	// Coordinator to worker
+	static final byte PROBLEM = 1; // numVars, implicants, minterms
+	static final byte SUBTREE = 2; // bound, Subtree
+	static final byte STEAL = 3; // Give away a branch
+	static final byte SHUTDOWN = 4;
+	// Worker to coordinator
+	static final byte RESULT = 5; // Found flag, then cover and path if found
+	static final byte DONATE = 6; // Subtree
+	// Both ways
+	static final byte BOUND = 7; // Size of a cover found
+
+	private static final int ACCEPT_TIMEOUT = 60000; // Milliseconds for a worker to connect
+
+	private ServerSocket server;
+	private List<Socket> sockets = new ArrayList<Socket>();
+	private List<DataOutputStream> outputs = new ArrayList<DataOutputStream>();
+	private List<Process> processes = new ArrayList<Process>();
+	private BlockingQueue<Message> messages = new LinkedBlockingQueue<Message>(); // From every worker
+
+
+	/* A message from a worker, or the error that ended its connection */
+	private static class Message {
+		int worker;
+		byte type;
+		int size;
+		Subtree subtree;
+		List<String> cover;
+		String path;
+		IOException error;
+	}
+
+
+	/**
+	 * Starts numWorkers workers (at least one), either as JVMs running
+	 * SearchWorker with this process's java executable and class path, or as
+	 * threads of this process
+	 */
+	public DistributedSearch(int numWorkers, boolean separateProcesses) throws IOException {
+		if (numWorkers < 1)
+			throw new IllegalArgumentException("Need at least one worker, got " + numWorkers);
+		server = new ServerSocket(0, numWorkers, InetAddress.getLoopbackAddress());
+		server.setSoTimeout(ACCEPT_TIMEOUT);
+		int port = server.getLocalPort();
+		try {
+			for (int w = 0; w < numWorkers; w++) {
+				if (separateProcesses) {
+					String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+					processes.add(new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), "SearchWorker",
+							Integer.toString(port)).redirectOutput(ProcessBuilder.Redirect.DISCARD)
+									.redirectError(ProcessBuilder.Redirect.INHERIT).start());
+				} else {
+					Thread thread = new Thread(() -> {
+						try {
+							SearchWorker.run(port);
+						} catch (IOException e) {
+							// The coordinator sees the closed connection
+						}
+					}, "SearchWorker-" + w);
+					thread.setDaemon(true);
+					thread.start();
+				}
+			}
+
+			for (int w = 0; w < numWorkers; w++) {
+				Socket socket = server.accept();
+				socket.setTcpNoDelay(true);
+				sockets.add(socket);
+				outputs.add(new DataOutputStream(new BufferedOutputStream(socket.getOutputStream())));
+				DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+				int worker = w;
+				Thread reader = new Thread(() -> readMessages(worker, in), "DistributedSearch-reader-" + w);
+				reader.setDaemon(true);
+				reader.start();
+			}
+		} catch (IOException e) {
+			close();
+			throw e;
+		}
+	}
+
+
+	/**
+	 * Returns the final cover for the function, as createFinalCover() would,
+	 * with the search run by the workers. If an IOException is thrown the
+	 * workers are in an unknown state, and this object should be closed.
+	 */
+	public synchronized List<String> minimize(int numVars, List<String> implicants, List<String> minterms)
+			throws IOException {
+		int numWorkers = outputs.size();
+		for (DataOutputStream out : outputs) {
+			out.writeByte(PROBLEM);
+			out.writeInt(numVars);
+			writeStrings(out, implicants);
+			writeStrings(out, minterms);
+			out.flush();
+		}
+
+		Deque<Subtree> unassigned = new ArrayDeque<Subtree>();
+		unassigned.add(Subtree.root(implicants.size(), minterms.size()));
+		Deque<Integer> idle = new ArrayDeque<Integer>();
+		for (int w = 0; w < numWorkers; w++)
+			idle.add(w);
+		boolean[] busy = new boolean[numWorkers];
+		boolean[] stealing = new boolean[numWorkers]; // Asked for a branch, no answer yet
+		int stealRequests = 0;
+		int bound = Integer.MAX_VALUE;
+		List<String> bestCover = null;
+		String bestPath = null;
+
+		while (true) {
+			while (!unassigned.isEmpty() && !idle.isEmpty()) {
+				int w = idle.poll();
+				DataOutputStream out = outputs.get(w);
+				out.writeByte(SUBTREE);
+				out.writeInt(bound);
+				unassigned.poll().write(out);
+				out.flush();
+				busy[w] = true;
+			}
+			if (idle.size() == numWorkers)
+				break; // Nothing left anywhere
+
+			// Ask busy workers for as many branches as there are idle ones
+			for (int w = 0; w < numWorkers && stealRequests < idle.size(); w++) {
+				if (busy[w] && !stealing[w]) {
+					outputs.get(w).writeByte(STEAL);
+					outputs.get(w).flush();
+					stealing[w] = true;
+					stealRequests++;
+				}
+			}
+
+			Message message = nextMessage();
+			int w = message.worker;
+			if (message.type == RESULT) {
+				// A donor sends its branches before its result, so none can be missed
+				busy[w] = false;
+				if (stealing[w]) {
+					stealing[w] = false;
+					stealRequests--;
+				}
+				idle.add(w);
+				if (message.cover != null && (bestCover == null || message.cover.size() < bestCover.size()
+						|| (message.cover.size() == bestCover.size() && message.path.compareTo(bestPath) < 0))) {
+					bestCover = message.cover;
+					bestPath = message.path;
+				}
+			} else if (message.type == DONATE) {
+				if (stealing[w]) {
+					stealing[w] = false;
+					stealRequests--;
+				}
+				unassigned.add(message.subtree);
+			} else if (message.type == BOUND && message.size < bound) {
+				bound = message.size;
+				for (int other = 0; other < numWorkers; other++) {
+					if (other != w && busy[other]) {
+						outputs.get(other).writeByte(BOUND);
+						outputs.get(other).writeInt(bound);
+						outputs.get(other).flush();
+					}
+				}
+			}
+		}
+		return bestCover == null ? new ArrayList<String>() : bestCover;
+	}
+
+
+	/* Shuts the workers down and waits briefly for their processes to exit */
+	public synchronized void close() {
+		for (DataOutputStream out : outputs) {
+			try {
+				out.writeByte(SHUTDOWN);
+				out.flush();
+			} catch (IOException e) {
+				// Already gone
+			}
+		}
+		for (Socket socket : sockets) {
+			try {
+				socket.close();
+			} catch (IOException e) {
+				// Nothing left to release
+			}
+		}
+		try {
+			server.close();
+		} catch (IOException e) {
+			// Nothing left to release
+		}
+		for (Process process : processes) {
+			try {
+				if (!process.waitFor(5, TimeUnit.SECONDS))
+					process.destroyForcibly();
+			} catch (InterruptedException e) {
+				process.destroyForcibly();
+				Thread.currentThread().interrupt();
+			}
+		}
+		outputs.clear();
+		sockets.clear();
+		processes.clear();
+	}
+
+
+	/* Waits for the next message from any worker, throwing the error of a lost one */
+	private Message nextMessage() throws IOException {
+		Message message;
+		try {
+			message = messages.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while waiting for workers", e);
+		}
+		if (message.error != null)
+			throw new IOException("Lost worker " + message.worker, message.error);
+		return message;
+	}
+
+
+	/* Decodes one worker's messages onto the shared queue until its connection ends */
+	private void readMessages(int worker, DataInputStream in) {
+		while (true) {
+			Message message = new Message();
+			message.worker = worker;
+			try {
+				message.type = in.readByte();
+				if (message.type == RESULT) {
+					if (in.readBoolean()) {
+						message.cover = readStrings(in);
+						message.path = in.readUTF();
+					}
+				} else if (message.type == DONATE) {
+					message.subtree = Subtree.read(in);
+				} else if (message.type == BOUND) {
+					message.size = in.readInt();
+				} else {
+					throw new IOException("Unknown message type " + message.type);
+				}
+			} catch (IOException e) {
+				message.error = e instanceof EOFException ? new EOFException("Worker closed the connection") : e;
+				messages.add(message);
+				return;
+			}
+			messages.add(message);
+		}
+	}
+
+
+	static void writeStrings(DataOutputStream out, List<String> strings) throws IOException {
+		out.writeInt(strings.size());
+		for (String string : strings)
+			out.writeUTF(string);
+	}
+
+
+	static List<String> readStrings(DataInputStream in) throws IOException {
+		int count = in.readInt();
+		List<String> strings = new ArrayList<String>(count);
+		for (int i = 0; i < count; i++)
+			strings.add(in.readUTF());
+		return strings;
+	}
+}
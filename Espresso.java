@@ -0,0 +1,412 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Heuristic two-level minimization in the style of Espresso, for functions too
+ * large to enumerate every prime implicant of. The function is given as a
+ * cover of cubes (implicants in the usual string format, or packed as
+ * {mask, value} pairs like Tabulation.primeCubes() returns) plus an optional
+ * cover of don't-cares, and the result is a cover in the same format that
+ * createFinalCover() returns. Example usage:
+ *     List<String> cover = Espresso.minimize(4, Arrays.asList("abcd", "abcD", "aBcd"), null);
+ *
+ * Starting from the given cover, every cube is expanded to a prime
+ * (EXPAND), redundant primes are dropped (IRREDUNDANT), and then cubes are
+ * shrunk as far as the rest of the cover allows (REDUCE) so that the next
+ * EXPAND can move them elsewhere; this repeats while the cover gets smaller.
+ * All containment questions are answered with the unate-recursive tautology
+ * check, so neither the minterms nor the off-set are ever built. Instead,
+ * each failed check during EXPAND yields a cube of the off-set, and later
+ * literals that would reach into one of those cubes are rejected without a
+ * check. REDUCE finds one hole the rest of the cover leaves in a cube, then
+ * keeps only the literals of that hole every other hole shares. The result is
+ * always a cover of the function made of prime implicants with none
+ * redundant, but unlike ImplicantMintermTable it need not be a minimum one.
+ */
+public class Espresso {
+	public static final int MAX_VARS = 64; // One bit per literal in a long
+
+
+	/**
+	 * Returns an irredundant prime cover of the function whose on-set is the
+	 * union of the implicants in onSet, and whose don't-cares are the union of
+	 * those in dontCares (or null). Strings only name 26 literals, so numVars
+	 * is at most Tabulation.MAX_VARS here; use minimizeCubes() beyond that.
+	 */
+	public static List<String> minimize(int numVars, List<String> onSet, List<String> dontCares) {
+		if (numVars < 0 || numVars > Tabulation.MAX_VARS)
+			throw new IllegalArgumentException("Number of variables must be between 0 and " + Tabulation.MAX_VARS);
+		List<String> cover = new ArrayList<String>();
+		for (long[] cube : minimizeCubes(numVars, parse(onSet), dontCares == null ? null : parse(dontCares)))
+			cover.add(Tabulation.termString(numVars, cube[0], cube[1]));
+		return cover;
+	}
+
+
+	/**
+	 * Same as above for packed cubes: mask has bit i set if the i-th literal
+	 * appears and value holds its polarity (bit i = 1 for un-complemented).
+	 */
+	public static List<long[]> minimizeCubes(int numVars, List<long[]> onSet, List<long[]> dontCares) {
+		if (numVars < 0 || numVars > MAX_VARS)
+			throw new IllegalArgumentException("Number of variables must be between 0 and " + MAX_VARS);
+		long full = numVars == 64 ? -1L : (1L << numVars) - 1;
+		List<long[]> cover = new ArrayList<long[]>();
+		for (long[] cube : onSet)
+			cover.add(new long[] { cube[0] & full, cube[1] & cube[0] & full });
+		List<long[]> dc = new ArrayList<long[]>();
+		if (dontCares != null) {
+			for (long[] cube : dontCares)
+				dc.add(new long[] { cube[0] & full, cube[1] & cube[0] & full });
+		}
+
+		// The on-set plus don't-cares never changes: every step keeps each cube
+		// inside it and the union of the cubes covering the on-set
+		List<long[]> onAndDc = new ArrayList<long[]>(cover);
+		onAndDc.addAll(dc);
+
+		// Off-set cubes found by EXPAND, which stay valid for the same reason
+		List<long[]> blocking = new ArrayList<long[]>();
+
+		cover = irredundant(expand(numVars, cover, onAndDc, blocking), dc);
+		while (true) {
+			List<long[]> next = irredundant(expand(numVars, reduce(cover, dc), onAndDc, blocking), dc);
+			if (!cheaper(next, cover))
+				return cover;
+			cover = next;
+		}
+	}
+
+
+	/* Checks whether the cube lies inside the union of the cubes in the cover */
+	public static boolean covers(List<long[]> cover, long mask, long value) {
+		return uncoveredCube(cover, mask, value) == null;
+	}
+
+
+	/* Checks whether the union of the cubes in the cover is the whole space (unate-recursive paradigm) */
+	public static boolean tautology(List<long[]> cover) {
+		return uncoveredCube(cover) == null;
+	}
+
+
+	/* A cube inside the given one that the cover leaves out, or null if the cover contains the cube */
+	private static long[] uncoveredCube(List<long[]> cover, long mask, long value) {
+		for (long[] cube : cover) {
+			if (cubeContains(cube[0], cube[1], mask, value))
+				return null; // Common case, no need to build the cofactor
+		}
+		long[] hole = uncoveredCube(cofactor(cover, mask, value));
+		if (hole != null) {
+			hole[0] |= mask;
+			hole[1] |= value;
+		}
+		return hole;
+	}
+
+
+	/**
+	 * Finds a cube that the cover leaves out entirely, or returns null if the
+	 * cover is a tautology. A single-literal cube covers half of the space, so
+	 * only the cofactor against the opposite literal needs to be searched (unit
+	 * propagation). A unate cover is a tautology only if it holds the
+	 * universal cube; without it, the cube that sets every literal against the
+	 * cover is left out. Otherwise, cubes with a unate literal can be dropped:
+	 * without them the cover is its own cofactor against the opposite literal,
+	 * which is contained in the cofactor against that literal. What remains is
+	 * split on a binate variable.
+	 */
+	private static long[] uncoveredCube(List<long[]> cover) {
+		long mask = 0; // Literals dropped so far, which the hole is set against
+		long value = 0;
+		while (true) {
+			long positive = 0;
+			long negative = 0;
+			long single = 0; // Variables of the single-literal cubes
+			long singleValue = 0;
+			for (long[] cube : cover) {
+				if (cube[0] == 0)
+					return null; // Universal cube
+				positive |= cube[0] & cube[1];
+				negative |= cube[0] & ~cube[1];
+				if ((cube[0] & (cube[0] - 1)) == 0) {
+					if ((single & cube[0]) != 0 && ((singleValue ^ cube[1]) & cube[0]) != 0)
+						return null; // A literal and its complement
+					single |= cube[0];
+					singleValue |= cube[1];
+				}
+			}
+			if (single != 0) {
+				// A single-literal cube covers its half, so only the other half is left
+				mask |= single;
+				value |= single & ~singleValue;
+				cover = cofactor(cover, single, single & ~singleValue);
+				continue;
+			}
+			if ((positive & negative) == 0)
+				return new long[] { mask | positive | negative, value | negative };
+			long unate = positive ^ negative;
+			if (unate == 0)
+				break;
+			mask |= unate;
+			value |= unate & negative;
+			List<long[]> reduced = new ArrayList<long[]>();
+			for (long[] cube : cover) {
+				if ((cube[0] & unate) == 0)
+					reduced.add(cube);
+			}
+			cover = reduced;
+		}
+
+		// The half whose cubes add up to less of the space is searched first: if
+		// they add up to less than all of it, it has a hole, and so does the half
+		// of it searched first, so the search goes straight down to a hole
+		long literal = splitLiteral(cover);
+		List<long[]> high = cofactor(cover, literal, literal);
+		List<long[]> low = cofactor(cover, literal, 0);
+		boolean lowFirst = volume(low) < volume(high);
+		for (List<long[]> half : lowFirst ? Arrays.asList(low, high) : Arrays.asList(high, low)) {
+			long[] hole = uncoveredCube(half);
+			if (hole != null)
+				return new long[] { hole[0] | mask | literal, hole[1] | value | (half == high ? literal : 0) };
+		}
+		return null;
+	}
+
+
+	/**
+	 * Smallest cube containing every point the cover leaves out, or null if it
+	 * leaves none out. It contains the first hole found, so only the literals
+	 * of that hole can be in it. One is if the cover is a tautology on the
+	 * literal's other side; if not, the hole found there rules out the literals
+	 * it does not share.
+	 */
+	private static long[] uncoveredSupercube(List<long[]> cover) {
+		long[] hole = uncoveredCube(cover);
+		if (hole == null)
+			return null;
+		long candidates = hole[0];
+		long mask = 0;
+		while (candidates != 0) {
+			long literal = Long.lowestOneBit(candidates);
+			candidates &= ~literal;
+			long[] other = uncoveredCube(cofactor(cover, literal, ~hole[1] & literal));
+			if (other == null)
+				mask |= literal;
+			else
+				candidates &= other[0] & ~(other[1] ^ hole[1]);
+		}
+		return new long[] { mask, hole[1] & mask };
+	}
+
+
+	/* The binate variable appearing in the most cubes, as a literal */
+	private static long splitLiteral(List<long[]> cover) {
+		long positive = 0;
+		long negative = 0;
+		for (long[] cube : cover) {
+			positive |= cube[0] & cube[1];
+			negative |= cube[0] & ~cube[1];
+		}
+		int split = -1;
+		int splitCount = 0;
+		for (long binate = positive & negative; binate != 0; binate &= binate - 1) {
+			long literal = Long.lowestOneBit(binate);
+			int count = 0;
+			for (long[] cube : cover) {
+				if ((cube[0] & literal) != 0)
+					count++;
+			}
+			if (count > splitCount) {
+				split = Long.numberOfTrailingZeros(literal);
+				splitCount = count;
+			}
+		}
+		return 1L << split;
+	}
+
+
+	/* Fraction of the space the cubes of the cover add up to, counting overlaps more than once */
+	private static double volume(List<long[]> cover) {
+		double volume = 0;
+		for (long[] cube : cover)
+			volume += Math.scalb(1.0, -Long.bitCount(cube[0]));
+		return volume;
+	}
+
+
+	/**
+	 * Expands every cube to a prime by dropping literals while the cube stays
+	 * inside onAndDc, and drops cubes contained in an earlier expanded one.
+	 * Large cubes go first, and the literals of a cube are tried in order of how
+	 * many of the remaining cubes fail to agree on them, since dropping those
+	 * moves the cube towards covering the most others. blocking holds cubes
+	 * known to lie outside onAndDc; a literal whose dropping would reach one
+	 * is kept without a check, and each failed check adds the cube it found.
+	 */
+	private static List<long[]> expand(int numVars, List<long[]> cover, List<long[]> onAndDc,
+			List<long[]> blocking) {
+		List<long[]> cubes = sortBySize(cover, true);
+		boolean[] covered = new boolean[cubes.size()];
+		List<long[]> expanded = new ArrayList<long[]>();
+
+		for (int c = 0; c < cubes.size(); c++) {
+			if (covered[c])
+				continue;
+			long mask = cubes.get(c)[0];
+			long value = cubes.get(c)[1];
+
+			Integer[] literals = new Integer[Long.bitCount(mask)];
+			int[] weight = new int[numVars];
+			int n = 0;
+			for (int i = 0; i < numVars; i++) {
+				long literal = 1L << i;
+				if ((mask & literal) == 0)
+					continue;
+				literals[n++] = i;
+				for (int d = c + 1; d < cubes.size(); d++) {
+					if (!covered[d] && ((cubes.get(d)[0] & literal) == 0 || ((cubes.get(d)[1] ^ value) & literal) != 0))
+						weight[i]++;
+				}
+			}
+			Arrays.sort(literals, (a, b) -> weight[b] - weight[a]);
+
+			// The raised cube is the old one plus its half across the literal, so
+			// only that half has to be checked
+			for (int i : literals) {
+				long literal = 1L << i;
+				if (intersectsAny(blocking, mask, value ^ literal))
+					continue;
+				long[] hole = uncoveredCube(onAndDc, mask, value ^ literal);
+				if (hole == null) {
+					mask &= ~literal;
+					value &= ~literal;
+				} else {
+					blocking.add(hole);
+				}
+			}
+
+			expanded.add(new long[] { mask, value });
+			for (int d = c + 1; d < cubes.size(); d++) {
+				if (!covered[d] && cubeContains(mask, value, cubes.get(d)[0], cubes.get(d)[1]))
+					covered[d] = true;
+			}
+		}
+		return expanded;
+	}
+
+
+	/**
+	 * Drops cubes covered by the rest of the cover and the don't-cares, trying
+	 * the smallest cubes first since they are the least likely to be needed
+	 */
+	private static List<long[]> irredundant(List<long[]> cover, List<long[]> dontCares) {
+		List<long[]> kept = new ArrayList<long[]>(cover);
+		for (long[] cube : sortBySize(cover, false)) {
+			kept.remove(cube);
+			List<long[]> rest = new ArrayList<long[]>(kept);
+			rest.addAll(dontCares);
+			if (!covers(rest, cube[0], cube[1]))
+				kept.add(cube);
+		}
+
+		// Restore the input order
+		List<long[]> result = new ArrayList<long[]>();
+		for (long[] cube : cover) {
+			if (kept.contains(cube))
+				result.add(cube);
+		}
+		return result;
+	}
+
+
+	/**
+	 * Shrinks each cube, largest first, to the smallest cube containing the
+	 * part of it that no other cube (nor a don't-care) covers; cubes that are
+	 * covered entirely are dropped.
+	 */
+	private static List<long[]> reduce(List<long[]> cover, List<long[]> dontCares) {
+		List<long[]> reduced = new ArrayList<long[]>(cover);
+		for (long[] cube : sortBySize(cover, true)) {
+			int index = reduced.indexOf(cube);
+			List<long[]> rest = new ArrayList<long[]>(reduced);
+			rest.remove(index);
+			rest.addAll(dontCares);
+
+			// Work inside the cube, where the rest of the cover is its cofactor
+			long[] uncovered = uncoveredSupercube(cofactor(rest, cube[0], cube[1]));
+			if (uncovered == null) {
+				reduced.remove(index);
+				continue;
+			}
+			reduced.set(index, new long[] { cube[0] | uncovered[0], cube[1] | uncovered[1] });
+		}
+		return reduced;
+	}
+
+
+	/**
+	 * Cofactor of the cover against a cube: the cubes that intersect it, with
+	 * the cube's literals removed
+	 */
+	private static List<long[]> cofactor(List<long[]> cover, long mask, long value) {
+		List<long[]> result = new ArrayList<long[]>();
+		for (long[] cube : cover) {
+			if (((cube[1] ^ value) & cube[0] & mask) == 0)
+				result.add(new long[] { cube[0] & ~mask, cube[1] & ~mask });
+		}
+		return result;
+	}
+
+
+	/* Fewer cubes is cheaper; with as many cubes, fewer literals is */
+	private static boolean cheaper(List<long[]> cover, List<long[]> other) {
+		if (cover.size() != other.size())
+			return cover.size() < other.size();
+		return literalCount(cover) < literalCount(other);
+	}
+
+
+	private static int literalCount(List<long[]> cover) {
+		int count = 0;
+		for (long[] cube : cover)
+			count += Long.bitCount(cube[0]);
+		return count;
+	}
+
+
+	/* Stable sort by number of literals, ascending (largest cubes first) or descending */
+	private static List<long[]> sortBySize(List<long[]> cover, boolean largestFirst) {
+		List<long[]> sorted = new ArrayList<long[]>(cover);
+		sorted.sort((a, b) -> largestFirst ? Long.bitCount(a[0]) - Long.bitCount(b[0])
+				: Long.bitCount(b[0]) - Long.bitCount(a[0]));
+		return sorted;
+	}
+
+
+	/* Checks whether any cube of the cover shares a point with the given one */
+	private static boolean intersectsAny(List<long[]> cover, long mask, long value) {
+		for (long[] cube : cover) {
+			if (((cube[1] ^ value) & cube[0] & mask) == 0)
+				return true;
+		}
+		return false;
+	}
+
+
+	/* Checks whether the cube (innerMask, innerValue) lies inside the cube (outerMask, outerValue) */
+	private static boolean cubeContains(long outerMask, long outerValue, long innerMask, long innerValue) {
+		return (outerMask & ~innerMask) == 0 && ((outerValue ^ innerValue) & outerMask) == 0;
+	}
+
+
+	/* Packs implicant strings into {mask, value} cubes */
+	private static List<long[]> parse(List<String> implicants) {
+		List<long[]> cubes = new ArrayList<long[]>();
+		for (String implicant : implicants) {
+			cubes.add(new long[] { Tabulation.packMask(implicant), Tabulation.packValue(implicant) });
+		}
+		return cubes;
+	}
+}
@@ -0,0 +1,115 @@
+import java.util.Arrays;
+
+/**
+ * CoverageMatrix kept on the Java heap as two arrays of BitVectors, one for
+ * the rows and one for the columns. This is the default backend, and the only
+ * one that can grow for incremental edits.
+ */
+public class HeapCoverageMatrix implements CoverageMatrix {
+	public static final CoverageMatrix.Factory FACTORY = new CoverageMatrix.Factory() {
+		public CoverageMatrix create(int numRows, int numColumns) {
+			return new HeapCoverageMatrix(numRows, numColumns);
+		}
+	};
+
+	private BitVector[] rows; // One BitVector per implicant, one bit per minterm
+	private BitVector[] columns; // One BitVector per minterm, one bit per implicant
+
+
+	public HeapCoverageMatrix(int numRows, int numColumns) {
+		rows = new BitVector[numRows];
+		columns = new BitVector[numColumns];
+		for(int i = 0; i < numRows; i++)
+			rows[i] = new BitVector(numColumns);
+		for(int j = 0; j < numColumns; j++)
+			columns[j] = new BitVector(numRows);
+	}
+
+
+	public int getNumRows() {
+		return rows.length;
+	}
+
+
+	public int getNumColumns() {
+		return columns.length;
+	}
+
+
+	public void setBit(int row, int column) {
+		rows[row].setBit(column);
+		columns[column].setBit(row);
+	}
+
+
+	public int getBit(int row, int column) {
+		return rows[row].getBit(column);
+	}
+
+
+	public BitVector getRow(int row) {
+		return rows[row];
+	}
+
+
+	public BitVector getColumn(int column) {
+		return columns[column];
+	}
+
+
+	public int nextInRow(int row, int fromColumn) {
+		return rows[row].getNextBitIdx(fromColumn);
+	}
+
+
+	public int nextInColumn(int column, int fromRow) {
+		return columns[column].getNextBitIdx(fromRow);
+	}
+
+
+	public boolean isRowSubset(int row, int otherRow, BitVector columnMask) {
+		return rows[row].isSubsetOf(rows[otherRow], columnMask);
+	}
+
+
+	public boolean isColumnSubset(int column, int otherColumn, BitVector rowMask) {
+		return columns[column].isSubsetOf(columns[otherColumn], rowMask);
+	}
+
+
+	public int countRow(int row, BitVector columnMask) {
+		return rows[row].intersection(columnMask).getCardinality();
+	}
+
+
+	public int countColumn(int column, BitVector rowMask) {
+		return columns[column].intersection(rowMask).getCardinality();
+	}
+
+
+	public boolean canGrow() {
+		return true;
+	}
+
+
+	/* Every column grows by one bit so that all columns keep the same size */
+	public int addRow() {
+		int row = rows.length;
+		rows = Arrays.copyOf(rows, row + 1);
+		rows[row] = new BitVector(columns.length);
+		for(int j = 0; j < columns.length; j++)
+			columns[j].verifySize(row);
+		return row;
+	}
+
+
+	/* Every row grows by one bit so that all rows keep the same size */
+	public int addColumn() {
+		int column = columns.length;
+		columns = Arrays.copyOf(columns, column + 1);
+		columns[column] = new BitVector(rows.length);
+		for(int i = 0; i < rows.length; i++)
+			rows[i].verifySize(column);
+		return column;
+	}
+}
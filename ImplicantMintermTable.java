@@ -1,5 +1,9 @@
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * This is the class that you will be working on to implement the
@@ -8,22 +12,80 @@ import java.util.List;
  * "aC", "BC", "bc"), Arrays.asList("ABC", "Abc", "aBC", "abC", "abc")); List<
  * String > finalCover = imt.createFinalCover();
  * System.out.println(Arrays.toString(finalCover)); >> ["ab", "BC", "bc"]
+ *
+ * When the function changes by a few minterms, the table can be edited in
+ * place instead of rebuilt: imt.addMinterm("aBc"); imt.removeMinterm("abc");
+ * finalCover = imt.recover(); The prime implicants are kept up to date with
+ * each edit, so the minterms must be the whole on-set of the function (apart
+ * from the don't-cares given to the truth-table constructor). Rows and
+ * columns retired by edits are never compacted away: they stay in the matrix
+ * as covered rows and columns, which every later pass still steps over (at
+ * the cost of one bit test each). After edits touching a large part of the
+ * function, building a new table is cheaper.
  */
 public class ImplicantMintermTable {
-	private BitVector[] rows; // Holds the rows as a BitVector array, with one row
-														// for each implicant
-	private BitVector[] columns; // Holds the cols as a BitVector array, with one
-																// col for each minterm
+	private CoverageMatrix matrix; // Holds the rows, one for each implicant, and
+																 // the cols, one for each minterm
 	private BitVector rowCover; // Has a 0 for each row which has been covered
 															// and a 1 for each uncovered row
 	private BitVector columnCover; // Has a 0 for each column which has been
 																 // covered and 1 for each uncovered column
-	private List<String> originalMinterms; // Has original minterms as strings
 	private List<String> originalImplicants; // Has original implicants as strings
+																					// (null in truth-table mode,
+																					// where they are formatted
+																					// when needed)
 	private List<String> finalImplicants; // Will hold final implicants
 	private boolean cyclicCoreRemains = false; // Will be set to true when a
 																							// cyclic
 																							// core remains
+	private volatile int bestCoverSize = Integer.MAX_VALUE; // Size of the smallest
+																													// complete cover found
+																													// so far (anywhere, in
+																													// a distributed search)
+	private int numVars;
+	private BitVector liveRows; // Has a 1 for each row whose implicant is still
+															// prime after incremental edits
+	private BitVector liveColumns; // Has a 1 for each column whose minterm is
+																 // still part of the function
+	private long[] implicantMasks; // Packed literal mask of each row
+	private long[] implicantValues; // Packed literal values of each row
+	private long[] mintermValues; // Packed value of each column from
+																// firstValueColumn on
+	private int firstValueColumn; // Columns before it are numbered by onSet
+	private long[] liveMinterms; // Bitmap of the live minterms, built by the
+															 // first edit
+	private long[] onSet; // Truth-table mode: on-set bitmap whose set bits are
+												// the first columns, in order (never edited)
+	private int[] wordRank; // Number of columns before each long of onSet
+	private long[] dontCares; // Don't-care bitmap in truth-table mode, else null
+	private int[] rowDegree; // Number of uncovered columns in each row
+	private int[] columnDegree; // Number of uncovered rows in each column
+	private List<Integer> pendingEssentials; // Uncovered columns whose degree has
+																					 // dropped to 1
+	private PivotStrategy pivotStrategy = PivotStrategy.MOST_COVERED;
+	private SearchListener searchListener; // Set while solving a Subtree, else null
+	private StringBuilder searchPath; // Path of the current node, when tracked
+	private String coverPath; // Path of the leaf finalImplicants was found at
+	private boolean edited = false; // Set by addMinterm()/removeMinterm() until
+																	// the table is solved again
+	private List<Subtree> openBranches; // Unexplored pivot-excluding branches of
+																			// the nodes being searched, shallowest first
+																			// (null once given away)
+
+	/**
+	 * Receives events from a search started by solveSubtree(), as
+	 * DistributedSearch workers do.
+	 */
+	public interface SearchListener {
+		/* Called when a cover of the given size is found */
+		void coverFound(int size);
+
+		/* Polled between steps; while true, the shallowest unexplored branch is given to donate() */
+		boolean wantsBranch();
+
+		/* Takes over a branch; this search will not explore it */
+		void donate(Subtree branch);
+	}
 
 	/**
 	 * Takes in an int corresponding to the number of literals, a list of string
@@ -34,16 +96,29 @@ public class ImplicantMintermTable {
 	 * successfully yield the appropriate cover for the function in question.
 	 */
 	public ImplicantMintermTable(int numVars, List<String> implicants, List<String> minterms) {
+		this(numVars, implicants, minterms, HeapCoverageMatrix.FACTORY);
+	}
+
+	/**
+	 * Same as above, but the coverage matrix is created by the given factory, e.g.
+	 * to keep a very large table off the Java heap.
+	 */
+	public ImplicantMintermTable(int numVars, List<String> implicants, List<String> minterms,
+			CoverageMatrix.Factory matrixFactory) {
 
 		//Variable initialization
-		this.rows = new BitVector[implicants.size()]; // one row for each implicant
-		this.columns = new BitVector[minterms.size()]; // one column for each
-																										// minterm
+		// One row for each implicant and one column for each minterm
+		this.matrix = matrixFactory.create(implicants.size(), minterms.size());
 		this.rowCover = new BitVector(implicants.size());
 		this.columnCover = new BitVector(minterms.size());
-		this.originalMinterms = minterms;
-		this.originalImplicants = implicants;
+		this.originalImplicants = new ArrayList<String>(implicants);
 		this.finalImplicants = new ArrayList<String>();
+		this.numVars = numVars;
+		this.liveRows = new BitVector(implicants.size());
+		this.liveColumns = new BitVector(minterms.size());
+		this.implicantMasks = new long[implicants.size()];
+		this.implicantValues = new long[implicants.size()];
+		this.mintermValues = new long[minterms.size()];
 		
 		BitVector result = new BitVector(numVars);
 		BitVector[] minVectors = new BitVector[minterms.size()];
@@ -51,18 +126,21 @@ public class ImplicantMintermTable {
 		// Initializing each BitVector in the rows array, where each row BitVector
 		// represents an
 		// implicant and has one bit for each minterm
-		for (int i = 0; i < rows.length; i++) {
-			rows[i] = new BitVector(minterms.size());
+		for (int i = 0; i < implicants.size(); i++) {
 			rowCover.setBit(i); // Initialize row cover to all 1's
+			liveRows.setBit(i);
+			implicantMasks[i] = Tabulation.packMask(implicants.get(i));
+			implicantValues[i] = Tabulation.packValue(implicants.get(i));
 		}
 
 		// Initializing each BitVector in the columns array, where each column
 		// BitVector represents a minterm and has one bit for each implicant
 		// Also creating an array of BitVector representations of each minterm
-		for (int j = 0; j < columns.length; j++) {
-			columns[j] = new BitVector(implicants.size());
+		for (int j = 0; j < minterms.size(); j++) {
 			minVectors[j] = stringToBitVector(numVars, minterms.get(j));
 			columnCover.setBit(j); // Initialize column cover to all 1's
+			liveColumns.setBit(j);
+			mintermValues[j] = Tabulation.packValue(minterms.get(j));
 		}
 
 		// Setting the correct bits in the rows and columns to represent which
@@ -75,22 +153,328 @@ public class ImplicantMintermTable {
 				result = (impMask.intersection(minVectors[j])).correspondence(impVector);
 
 				if (result.isZero()) {
-					rows[i].setBit(j);
-					columns[j].setBit(i);
+					matrix.setBit(i, j);
 				}
 			}
 		}
 	}
 
+	/**
+	 * Takes in an int corresponding to the number of literals and the function
+	 * as a truth table: a bitmap of 2^numVars bits packed into longs, with bit v
+	 * set if minterm v is in the on-set (see Tabulation for the layout), plus an
+	 * optional bitmap of don't-cares (or null). The prime implicants and the
+	 * minterm columns are derived from the bitmaps directly, so no minterm or
+	 * implicant strings are parsed. Columns are ordered by increasing minterm
+	 * and found by counting set bits in the on-set, so a minterm costs a bit of
+	 * the bitmap and a column of the matrix; the incremental edits only add a
+	 * second bitmap of the live minterms, and a value for each column they
+	 * append. Primes are kept
+	 * packed, and only formatted as strings when they are compared to break a
+	 * tie or put in a cover.
+	 */
+	public ImplicantMintermTable(int numVars, long[] truthTable, long[] dontCares) {
+		this(numVars, truthTable, dontCares, HeapCoverageMatrix.FACTORY);
+	}
+
+	/**
+	 * Same as above, but the coverage matrix is created by the given factory.
+	 */
+	public ImplicantMintermTable(int numVars, long[] truthTable, long[] dontCares,
+			CoverageMatrix.Factory matrixFactory) {
+		List<long[]> primes = Tabulation.primeCubes(numVars, truthTable, dontCares);
+		long full = (1L << numVars) - 1;
+
+		// Number the on-set minterms; a minterm's column is the number of set bits
+		// before it in the truth table
+		int words = Tabulation.wordsFor(numVars);
+		this.onSet = Tabulation.validBits(numVars, truthTable);
+		this.wordRank = new int[words];
+		int numMinterms = 0;
+		for (int w = 0; w < words; w++) {
+			wordRank[w] = numMinterms;
+			numMinterms += Long.bitCount(onSet[w]);
+		}
+
+		//Variable initialization
+		this.matrix = matrixFactory.create(primes.size(), numMinterms);
+		this.rowCover = new BitVector(primes.size());
+		this.columnCover = new BitVector(numMinterms);
+		this.finalImplicants = new ArrayList<String>();
+		this.numVars = numVars;
+		this.liveRows = new BitVector(primes.size());
+		this.liveColumns = new BitVector(numMinterms);
+		this.implicantMasks = new long[primes.size()];
+		this.implicantValues = new long[primes.size()];
+		this.mintermValues = new long[0];
+		this.firstValueColumn = numMinterms;
+		if (dontCares != null)
+			this.dontCares = Tabulation.validBits(numVars, dontCares);
+
+		for (int j = 0; j < numMinterms; j++) {
+			columnCover.setBit(j); // Initialize column cover to all 1's
+			liveColumns.setBit(j);
+		}
+
+		// Each prime covers exactly the on-set minterms of its cube
+		for (int i = 0; i < primes.size(); i++) {
+			long mask = primes.get(i)[0];
+			long value = primes.get(i)[1];
+			rowCover.setBit(i); // Initialize row cover to all 1's
+			liveRows.setBit(i);
+			implicantMasks[i] = mask;
+			implicantValues[i] = value;
+
+			long free = full & ~mask;
+			long subset = free;
+			while (true) {
+				long minterm = value | subset;
+				int w = (int) (minterm >>> 6);
+				long below = onSet[w] & ((1L << (minterm & 63)) - 1);
+				if ((onSet[w] & (1L << (minterm & 63))) != 0) {
+					matrix.setBit(i, wordRank[w] + Long.bitCount(below));
+				}
+				if (subset == 0)
+					break;
+				subset = (subset - 1) & free;
+			}
+		}
+	}
+
 	/**
 	 * Creates the final implicant cover using Quine-McCluskey pruning techniques
 	 * with Branch and Bound. Returns the unique (considering tie-breaks) minimal
 	 * cover for the function; a list of Strings that represent the implicants
-	 * (capitalized for complemented, lowercase for uncomplemented).
+	 * (capitalized for complemented, lowercase for uncomplemented). After
+	 * addMinterm()/removeMinterm() edits, this is recover().
 	 */
 	public List<String> createFinalCover() {
+		if (edited)
+			return recover();
+		computeDegrees();
+		solve();
+		return finalImplicants;
+	}
+
+	/**
+	 * Re-solves the table after addMinterm()/removeMinterm() edits. The previous
+	 * cover, minus implicants that are no longer prime and topped up greedily
+	 * for any uncovered minterms, is used as the incumbent, so the search only
+	 * has to explore covers that are at least as small. Ties are broken the same
+	 * way createFinalCover() breaks them.
+	 */
+	public List<String> recover() {
+		edited = false;
+		// Repair the previous cover into a valid incumbent
+		List<String> incumbent = new ArrayList<String>();
+		BitVector uncovered = liveColumns.copy();
+		Set<String> previous = new HashSet<String>(finalImplicants);
+		for (int i = 0; i < matrix.getNumRows(); i++) {
+			if (liveRows.getBit(i) == 1 && previous.contains(implicantString(i))) {
+				incumbent.add(implicantString(i));
+				uncovered = uncovered.difference(matrix.getRow(i));
+			}
+		}
+		while (!uncovered.isZero()) {
+			// Take the live implicant covering the most uncovered minterms
+			int bestRow = -1;
+			int bestOnes = 0;
+			for (int i = 0; i < matrix.getNumRows(); i++) {
+				if (liveRows.getBit(i) == 1) {
+					int currOnes = matrix.countRow(i, uncovered);
+					if (currOnes > bestOnes) {
+						bestRow = i;
+						bestOnes = currOnes;
+					}
+				}
+			}
+			if (bestRow < 0)
+				break; // Remaining minterms have no implicant
+			incumbent.add(implicantString(bestRow));
+			uncovered = uncovered.difference(matrix.getRow(bestRow));
+		}
+
+		bestCoverSize = incumbent.size();
+		rowCover = liveRows.copy();
+		columnCover = liveColumns.copy();
+		computeDegrees();
+		finalImplicants = new ArrayList<String>();
+		if (!solve())
+			finalImplicants = incumbent;
+		return finalImplicants;
+	}
+
+	/**
+	 * Sets the strategy that picks the implicant to branch on when a cyclic core
+	 * remains (PivotStrategy.MOST_COVERED by default).
+	 */
+	public void setPivotStrategy(PivotStrategy pivotStrategy) {
+		this.pivotStrategy = pivotStrategy;
+	}
+
+	/**
+	 * Searches only below the given node of the branch-and-bound tree, for
+	 * DistributedSearch. Covers larger than bound are cut off, and the bound can
+	 * be lowered while the search runs with lowerBound(). Returns the cover the
+	 * whole search would have kept from this part of the tree, or null if it
+	 * has none within the bound; getCoverPath() then tells where it was found.
+	 * The bound is never raised: a lower one already passed to lowerBound()
+	 * (even just before this call) is kept.
+	 */
+	public List<String> solveSubtree(Subtree subtree, int bound, SearchListener listener) {
+		rowCover = subtree.getRowCover().copy();
+		columnCover = subtree.getColumnCover().copy();
+		finalImplicants = new ArrayList<String>(subtree.getCover());
+		lowerBound(bound);
+		searchListener = listener;
+		searchPath = new StringBuilder(subtree.getPath());
+		coverPath = null;
+		openBranches = new ArrayList<Subtree>();
+		computeDegrees();
+		try {
+			return solve() ? finalImplicants : null;
+		} finally {
+			searchListener = null;
+			searchPath = null;
+			openBranches = null;
+		}
+	}
+
+	/**
+	 * Path of the node at which the cover last returned by solveSubtree() was
+	 * completed
+	 */
+	public String getCoverPath() {
+		return coverPath;
+	}
+
+	/**
+	 * Tightens the bound of a running solveSubtree() after a cover of the given
+	 * size was found elsewhere. May be called from another thread; the check
+	 * and the update are one step, so a lower bound is never overwritten.
+	 */
+	public synchronized void lowerBound(int size) {
+		if (size < bestCoverSize)
+			bestCoverSize = size;
+	}
+
+	/**
+	 * Adds a minterm to the function. Implicants that contain the minterm and
+	 * are maximal within the new on-set become new rows, existing primes that
+	 * they contain stop being prime, and only the new column and rows are
+	 * filled in. Throws UnsupportedOperationException, leaving the table
+	 * unchanged, if its CoverageMatrix cannot grow.
+	 */
+	public void addMinterm(String minterm) {
+		checkCanGrow();
+		indexMinterms();
+		long packed = Tabulation.packValue(minterm);
+		if (isLive(packed))
+			return;
+		edited = true;
+
+		int column = matrix.addColumn();
+		liveColumns.setBit(column);
+		mintermValues = Arrays.copyOf(mintermValues, column + 1 - firstValueColumn);
+		mintermValues[column - firstValueColumn] = packed;
+		liveMinterms[(int) (packed >>> 6)] |= 1L << (packed & 63);
+		long full = (1L << numVars) - 1;
+
+		// A former don't-care may already lie inside some primes
+		if (isDontCare(packed)) {
+			dontCares[(int) (packed >>> 6)] &= ~(1L << (packed & 63));
+			for (int i = 0; i < matrix.getNumRows(); i++) {
+				if (liveRows.getBit(i) == 1 && cubeContains(implicantMasks[i], implicantValues[i], full, packed)) {
+					matrix.setBit(i, column);
+				}
+			}
+		}
+
+		// Only cubes containing the new minterm can be new implicants
+		List<Long> primeFrees = new ArrayList<Long>();
+		growPrimes(packed, 0, full, primeFrees);
+
+		for (long free : primeFrees) {
+			long mask = full & ~free;
+			long value = packed & mask;
+			if (findLiveRow(mask, value) >= 0)
+				continue; // Already a prime through the former don't-care
+			for (int i = 0; i < matrix.getNumRows(); i++) {
+				if (liveRows.getBit(i) == 1 && cubeContains(mask, value, implicantMasks[i], implicantValues[i]))
+					liveRows.clearBit(i);
+			}
+			addImplicantRow(mask, value);
+		}
+	}
+
+	/**
+	 * Removes a minterm from the function. Implicants that contain it are no
+	 * longer implicants; each is replaced by its halves that avoid the minterm,
+	 * keeping only the halves that are not contained in another prime. Throws
+	 * UnsupportedOperationException, leaving the table unchanged, if its
+	 * CoverageMatrix cannot grow.
+	 */
+	public void removeMinterm(String minterm) {
+		checkCanGrow();
+		indexMinterms();
+		long packed = Tabulation.packValue(minterm);
+		if (!isLive(packed))
+			return;
+		edited = true;
+		liveMinterms[(int) (packed >>> 6)] &= ~(1L << (packed & 63));
 
+		List<Long> candidateMasks = new ArrayList<Long>();
+		List<Long> candidateValues = new ArrayList<Long>();
+		for (int column : liveColumnsOf(packed)) {
+			liveColumns.clearBit(column);
+			for (int i = 0; i < matrix.getNumRows(); i++) {
+				if (liveRows.getBit(i) == 1 && matrix.getBit(i, column) == 1) {
+					liveRows.clearBit(i);
+					long mask = implicantMasks[i];
+					long value = implicantValues[i];
+					for (int j = 0; j < numVars; j++) {
+						long literal = 1L << j;
+						if ((mask & literal) == 0) {
+							candidateMasks.add(mask | literal);
+							candidateValues.add(value | (~packed & literal));
+						}
+					}
+				}
+			}
+		}
+
+		for (int c = 0; c < candidateMasks.size(); c++) {
+			long mask = candidateMasks.get(c);
+			long value = candidateValues.get(c);
+			boolean prime = true;
+			for (int i = 0; i < matrix.getNumRows() && prime; i++) {
+				if (liveRows.getBit(i) == 1 && cubeContains(implicantMasks[i], implicantValues[i], mask, value))
+					prime = false;
+			}
+			for (int d = 0; d < candidateMasks.size() && prime; d++) {
+				// Of two equal candidates, only the first one is kept
+				if (d != c && cubeContains(candidateMasks.get(d), candidateValues.get(d), mask, value)
+						&& (d < c || !cubeContains(mask, value, candidateMasks.get(d), candidateValues.get(d))))
+					prime = false;
+			}
+			if (prime)
+				addImplicantRow(mask, value);
+		}
+	}
+
+	/**
+	 * Search driver shared by createFinalCover() and pruneAndBranch(). Returns
+	 * false if the branch was abandoned because it cannot produce a cover
+	 * smaller than the best one found so far; only strictly larger covers are
+	 * cut off, so ties are still broken exactly as without the bound.
+	 */
+	private boolean solve() {
 		while (!rowCover.isZero() && !columnCover.isZero()) {
+			// At least one more implicant is needed
+			if (finalImplicants.size() >= bestCoverSize)
+				return false;
+			if (searchListener != null && searchListener.wantsBranch())
+				donateBranch();
 
 			// Assume that a cyclic core remains. If essential prime removal, row
 			// domination, and column domination methods yield any results,
@@ -101,79 +485,88 @@ public class ImplicantMintermTable {
 			rowDomination();
 			columnDomination();
 			if (cyclicCoreRemains) {
-				pruneAndBranch();
+				return pruneAndBranch();
 			}
 		}
 
-		return finalImplicants;
+		if (finalImplicants.size() > bestCoverSize)
+			return false;
+		lowerBound(finalImplicants.size());
+		if (searchListener != null) {
+			coverPath = searchPath.toString();
+			searchListener.coverFound(finalImplicants.size());
+		}
+		return true;
+	}
+
+	/**
+	 * Hands the shallowest unexplored branch to the listener, if there is one
+	 */
+	private void donateBranch() {
+		for (int i = 0; i < openBranches.size(); i++) {
+			if (openBranches.get(i) != null) {
+				searchListener.donate(openBranches.set(i, null));
+				return;
+			}
+		}
 	}
 
 	/**
 	 * Recursive cyclic core resolution method
-	 * -Selects a pivot, which is the implicant with most minterms. If several
-	 * 	implicants have the same amount of minterms, it picks the earliest
-	 *  one lexicographically
-	 * -Saves final implicants, rowCover, and columnCover before recursion
+	 * -Selects a pivot with the PivotStrategy. By default this is the implicant
+	 * 	with most minterms; if several implicants have the same amount of
+	 * 	minterms, it picks the earliest one lexicographically
+	 * -Saves final implicants, rowCover, columnCover and the degree counters
+	 *  before recursion
 	 * -Tries creating minimal cover with pivot included and saves results
 	 * -Resets to pre-recursion state
 	 * -Tries creating minimal cover with pivot excluded and saves results
 	 * -Compares results with/without pivot and keeps the smaller minimal
 	 *  cover. If size equal, keeps the results with pivot included
+	 * -Returns false if both branches were abandoned by the bound
+	 * -In a solveSubtree() search, also tracks the path of each branch and
+	 *  leaves the pivot-excluding branch open to be donated meanwhile
 	 */
-	private void pruneAndBranch() {
+	private boolean pruneAndBranch() {
 		
-		// Select the implicant with the most minterms as the pivot
-		BitVector pivot = new BitVector(columns.length);
-		int pivotIndex = 0;
-		ImplicantComparator comparator = new ImplicantComparator();
+		int pivotIndex = pivotStrategy.selectPivot(matrix, rowCover, columnCover, rowDegree, columnDegree,
+				implicantStrings());
 
-		for (int i = 0; i < rows.length; i++) {
-			if (rowCover.getBit(i) == 1) {
-				int currOnes = rows[i].intersection(columnCover).getCardinality();
-				int pivotOnes = pivot.intersection(columnCover).getCardinality();
-				if (currOnes > pivotOnes) {
-					pivot = rows[i];
-					pivotIndex = i;
-				} else if (currOnes == pivotOnes) {
-					if ((comparator.compare(originalImplicants.get(i), originalImplicants.get(pivotIndex)) < 0)) {
-						pivot = rows[i];
-						pivotIndex = i;
-					}
-				}
-			}
-		}
-
-		// Save final implicants, row cover and column cover before cyclic core
-		// recursion
+		// Save final implicants, row cover, column cover and degrees before cyclic
+		// core recursion
 		List<String> implicantsBeforeRecursion = new ArrayList<String>(finalImplicants);
-		BitVector rowCoverBeforeRecursion = new BitVector(rowCover.getSize());
-		BitVector columnCoverBeforeRecursion = new BitVector(columnCover.getSize());
-		for (int i = 0; i < rowCover.getSize(); i++) {
-			if (rowCover.getBit(i) == 1) {
-				rowCoverBeforeRecursion.setBit(i);
-			}
-		}
-		for (int i = 0; i < columnCover.getSize(); i++) {
-			if (columnCover.getBit(i) == 1) {
-				columnCoverBeforeRecursion.setBit(i);
-			}
+		BitVector rowCoverBeforeRecursion = rowCover.copy();
+		BitVector columnCoverBeforeRecursion = columnCover.copy();
+		int[] rowDegreeBeforeRecursion = rowDegree.clone();
+		int[] columnDegreeBeforeRecursion = columnDegree.clone();
+		if (searchListener != null) {
+			// The pivot-excluding branch may be given away while the other one runs
+			BitVector rowCoverWithoutPivot = rowCoverBeforeRecursion.copy();
+			rowCoverWithoutPivot.clearBit(pivotIndex);
+			openBranches.add(new Subtree(rowCoverWithoutPivot, columnCoverBeforeRecursion.copy(),
+					implicantsBeforeRecursion, searchPath + "1"));
+			searchPath.append('0');
 		}
 
 		/* Try cover with pivot implicant */
 
 		// Add pivot to final implicants
-		finalImplicants.add(originalImplicants.get(pivotIndex));
-		// Remove corresponding columns
-		for (int i = 0; i < columns.length; i++) {
-			if (columnCover.getBit(i) == 1 && rows[pivotIndex].getBit(i) == 1) {
-				columnCover.clearBit(i);
-			}
-		}
-		// Remove pivot row
-		rowCover.clearBit(pivotIndex);
+		finalImplicants.add(implicantString(pivotIndex));
+		// Remove corresponding columns and the pivot row
+		coverRowAndColumns(pivotIndex);
 		// Try creating final cover
-		createFinalCover();
-		List<String> implicantsWithPivot = new ArrayList<String>(finalImplicants);
+		boolean foundWithPivot = solve();
+		List<String> implicantsWithPivot = finalImplicants;
+		BitVector rowCoverWithPivot = rowCover;
+		BitVector columnCoverWithPivot = columnCover;
+		int[] rowDegreeWithPivot = rowDegree;
+		int[] columnDegreeWithPivot = columnDegree;
+		String pathWithPivot = coverPath;
+		boolean donated = false;
+		if (searchListener != null) {
+			donated = openBranches.remove(openBranches.size() - 1) == null;
+			searchPath.setCharAt(searchPath.length() - 1, '1');
+		}
 
 		/* Try cover without pivot implicant */
 
@@ -182,20 +575,27 @@ public class ImplicantMintermTable {
 		// Reset row cover and column cover to before recursion state
 		rowCover = rowCoverBeforeRecursion;
 		columnCover = columnCoverBeforeRecursion;
+		rowDegree = rowDegreeBeforeRecursion;
+		columnDegree = columnDegreeBeforeRecursion;
+		pendingEssentials = new ArrayList<Integer>(); // Empty on entry
 		// Remove row with pivot implicant
-		rowCover.clearBit(pivotIndex);
-		// Try creating final cover
-		createFinalCover();
-		List<String> implicantsWithoutPivot = new ArrayList<String>(finalImplicants);
+		coverRow(pivotIndex);
+		// Try creating final cover, unless another search took this branch
+		boolean foundWithoutPivot = !donated && solve();
+		if (searchListener != null)
+			searchPath.setLength(searchPath.length() - 1);
 
 		// Keep the smaller minimal cover. If they are equal, keep the result
 		// which includes the pivot implicant
-		if (implicantsWithPivot.size() > implicantsWithoutPivot.size()) {
-			finalImplicants = implicantsWithoutPivot;
-		} else {
+		if (foundWithPivot && (!foundWithoutPivot || implicantsWithPivot.size() <= finalImplicants.size())) {
 			finalImplicants = implicantsWithPivot;
+			rowCover = rowCoverWithPivot;
+			columnCover = columnCoverWithPivot;
+			rowDegree = rowDegreeWithPivot;
+			columnDegree = columnDegreeWithPivot;
+			coverPath = pathWithPivot;
 		}
-
+		return foundWithPivot || foundWithoutPivot;
 	}
 
 	/**
@@ -237,85 +637,371 @@ public class ImplicantMintermTable {
 		return vector;
 	}
 
+	/**
+	 * Helper method that checks whether the cube (innerMask, innerValue) lies
+	 * inside the cube (outerMask, outerValue)
+	 */
+	private static boolean cubeContains(long outerMask, long outerValue, long innerMask, long innerValue) {
+		return (outerMask & ~innerMask) == 0 && ((outerValue ^ innerValue) & outerMask) == 0;
+	}
+
+	/**
+	 * Helper method for addMinterm() that finds the primes containing a minterm,
+	 * as the sets of literals they free. Literals are freed in increasing order,
+	 * so each implicant lies on one path; tail holds the literals a set may
+	 * still free. A branch is cut when all the literals it can free lie inside
+	 * a prime already found, and when they can all be freed at once, that cube
+	 * is the only candidate below it.
+	 */
+	private void growPrimes(long minterm, long free, long tail, List<Long> primeFrees) {
+		long candidates = 0;
+		for (long bits = tail; bits != 0; bits &= bits - 1) {
+			if (isImplicant(minterm, free | Long.lowestOneBit(bits)))
+				candidates |= Long.lowestOneBit(bits);
+		}
+		long widest = free | candidates;
+		for (long primeFree : primeFrees) {
+			if ((widest & ~primeFree) == 0)
+				return;
+		}
+
+		if (candidates == 0 || isImplicant(minterm, widest)) {
+			// Prime unless a literal outside the tail can still be freed
+			long others = ((1L << numVars) - 1) & ~widest;
+			for (long bits = others; bits != 0; bits &= bits - 1) {
+				if (isImplicant(minterm, widest | Long.lowestOneBit(bits)))
+					return;
+			}
+			primeFrees.add(widest);
+			return;
+		}
+		for (long bits = candidates; bits != 0; bits &= bits - 1) {
+			long literal = Long.lowestOneBit(bits);
+			growPrimes(minterm, free | literal, candidates & -(literal << 1), primeFrees);
+		}
+	}
+
+	/**
+	 * Helper method that checks whether the cube around a minterm that frees the
+	 * given literals lies in the on-set
+	 */
+	private boolean isImplicant(long minterm, long free) {
+		long mask = ((1L << numVars) - 1) & ~free;
+		return cubeInOnSet(mask, minterm & mask);
+	}
+
+	/**
+	 * Helper method that checks whether every minterm of a packed cube is a live
+	 * minterm or a don't-care. The free literals below 6 pick bits within a long
+	 * and the others pick longs, so it takes one test per long the cube spans.
+	 */
+	private boolean cubeInOnSet(long mask, long value) {
+		long free = ((1L << numVars) - 1) & ~mask;
+		long pattern = 1L << (value & 63);
+		for (int i = 0; i < 6; i++) {
+			if ((free & (1L << i)) != 0)
+				pattern |= pattern << (1 << i);
+		}
+		long highFree = free >>> 6;
+		long subset = highFree;
+		while (true) {
+			int w = (int) ((value >>> 6) | subset);
+			long bits = liveMinterms[w];
+			if (dontCares != null)
+				bits |= dontCares[w];
+			if ((bits & pattern) != pattern)
+				return false;
+			if (subset == 0)
+				return true;
+			subset = (subset - 1) & highFree;
+		}
+	}
+
+	/**
+	 * Helper method that finds the live row of a packed implicant, or -1
+	 */
+	private int findLiveRow(long mask, long value) {
+		for (int i = 0; i < matrix.getNumRows(); i++) {
+			if (liveRows.getBit(i) == 1 && implicantMasks[i] == mask && implicantValues[i] == value)
+				return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Helper method that checks the bitmap of live minterms
+	 */
+	private boolean isLive(long minterm) {
+		return (liveMinterms[(int) (minterm >>> 6)] & (1L << (minterm & 63))) != 0;
+	}
+
+	/**
+	 * Helper method that finds the live columns of a minterm; a minterm listed
+	 * more than once to the string constructor has more than one
+	 */
+	private List<Integer> liveColumnsOf(long minterm) {
+		List<Integer> columns = new ArrayList<Integer>();
+		if (onSet != null) {
+			int w = (int) (minterm >>> 6);
+			if ((onSet[w] & (1L << (minterm & 63))) != 0) {
+				int column = wordRank[w] + Long.bitCount(onSet[w] & ((1L << (minterm & 63)) - 1));
+				if (liveColumns.getBit(column) == 1)
+					columns.add(column);
+			}
+		}
+		for (int j = 0; j < mintermValues.length; j++) {
+			if (mintermValues[j] == minterm && liveColumns.getBit(firstValueColumn + j) == 1)
+				columns.add(firstValueColumn + j);
+		}
+		return columns;
+	}
+
+	/**
+	 * Helper method that checks the don't-care bitmap, if there is one
+	 */
+	private boolean isDontCare(long minterm) {
+		return dontCares != null && (dontCares[(int) (minterm >>> 6)] & (1L << (minterm & 63))) != 0;
+	}
+
+	/**
+	 * Helper method that names a column's minterm for tie-breaking
+	 */
+	private String mintermString(int column) {
+		return Tabulation.termString(numVars, (1L << numVars) - 1, mintermValue(column));
+	}
+
+	/**
+	 * Helper method that gives a column's packed minterm; in truth-table mode,
+	 * the columns before firstValueColumn are the set bits of onSet, in order
+	 */
+	private long mintermValue(int column) {
+		if (column >= firstValueColumn)
+			return mintermValues[column - firstValueColumn];
+		// Last long with at most column set bits before it
+		int low = 0;
+		int high = wordRank.length - 1;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (wordRank[mid] <= column)
+				low = mid;
+			else
+				high = mid - 1;
+		}
+		long bits = onSet[low];
+		for (int k = wordRank[low]; k < column; k++)
+			bits &= bits - 1;
+		return 64L * low + Long.numberOfTrailingZeros(bits);
+	}
+
+	/**
+	 * Helper method that names a row's implicant, formatting it in truth-table
+	 * mode
+	 */
+	private String implicantString(int row) {
+		if (originalImplicants != null)
+			return originalImplicants.get(row);
+		return Tabulation.termString(numVars, implicantMasks[row], implicantValues[row]);
+	}
+
+	/**
+	 * Helper method that gives the names of all rows as a list, formatting them
+	 * only as they are read in truth-table mode
+	 */
+	private List<String> implicantStrings() {
+		if (originalImplicants != null)
+			return originalImplicants;
+		return new AbstractList<String>() {
+			public String get(int row) {
+				return implicantString(row);
+			}
+
+			public int size() {
+				return matrix.getNumRows();
+			}
+		};
+	}
+
+	/**
+	 * Helper method that builds the bitmap of live minterms before the first
+	 * edit needs it: a copy of the on-set in truth-table mode, else one bit per
+	 * live column
+	 */
+	private void indexMinterms() {
+		if (liveMinterms != null)
+			return;
+		if (onSet != null) {
+			liveMinterms = onSet.clone();
+			return;
+		}
+		liveMinterms = new long[Tabulation.wordsFor(numVars)];
+		for (int j = 0; j < mintermValues.length; j++) {
+			if (liveColumns.getBit(j) == 1)
+				liveMinterms[(int) (mintermValues[j] >>> 6)] |= 1L << (mintermValues[j] & 63);
+		}
+	}
+
+	/**
+	 * Helper method that rejects incremental edits before they change anything
+	 * when the matrix has a fixed shape
+	 */
+	private void checkCanGrow() {
+		if (!matrix.canGrow())
+			throw new UnsupportedOperationException("Tables with a fixed-shape coverage matrix cannot be edited");
+	}
+
+	/**
+	 * Helper method for the incremental edits that appends a row for a new prime
+	 * implicant and sets its bits against every live column
+	 */
+	private void addImplicantRow(long mask, long value) {
+		long full = (1L << numVars) - 1;
+		int row = matrix.addRow();
+		if (onSet != null) {
+			// Walk the on-set bits, which are the first columns in order
+			int column = 0;
+			for (int w = 0; w < onSet.length; w++) {
+				for (long bits = onSet[w]; bits != 0; bits &= bits - 1, column++) {
+					long minterm = 64L * w + Long.numberOfTrailingZeros(bits);
+					if (liveColumns.getBit(column) == 1 && cubeContains(mask, value, full, minterm))
+						matrix.setBit(row, column);
+				}
+			}
+		}
+		for (int j = 0; j < mintermValues.length; j++) {
+			if (liveColumns.getBit(firstValueColumn + j) == 1 && cubeContains(mask, value, full, mintermValues[j]))
+				matrix.setBit(row, firstValueColumn + j);
+		}
+		liveRows.setBit(row);
+		if (originalImplicants != null)
+			originalImplicants.add(Tabulation.termString(numVars, mask, value));
+		implicantMasks = Arrays.copyOf(implicantMasks, row + 1);
+		implicantValues = Arrays.copyOf(implicantValues, row + 1);
+		implicantMasks[row] = mask;
+		implicantValues[row] = value;
+	}
+
 	/**
 	 * Cover essential primes helper method
-	 * -Adds any essential prime that it finds to the finalImplicants
+	 * -Takes the columns whose degree has dropped to 1 since the last call and,
+	 *  in column order, adds the one implicant still covering each of them to
+	 *  the finalImplicants
 	 * -Covers the row of the essential prime implicant
 	 * -Covers all of the corresponding columns of the essential prime implicant
 	 * -Sets cyclicCoreRemains to false if any essential primes were found
 	 */
 	private void coverEssentialPrimes() {
 		/* Covering essential primes */
-		int rowToCover;
+		List<Integer> candidates = pendingEssentials;
+		pendingEssentials = new ArrayList<Integer>();
+		candidates.sort(null);
 
-		for (int i = 0; i < columns.length; i++) {
+		for (int i : candidates) {
 			/*
 			 * if the column/minterm is not already covered and only one implicant
 			 * covers it, cover the column, the implicant, and the implicant's other
-			 * corresponding minterms
+			 * corresponding minterms. Covering a row only lowers the degree of its
+			 * own columns, which are covered along with it, so no column can become
+			 * essential during this loop
 			 */
-
-			if (columnCover.getBit(i) == 1 && columns[i].intersection(rowCover).getCardinality() == 1) {
-				rowToCover = columns[i].getFirstBitIdx();
-				// Finding rowToCover (getFirstBitIdx() may return a bit which has already
-				// been covered)
-				for (int j = 0; j < rows.length; j++) {
-					if (columns[i].getBit(j) == 1 && rowCover.getBit(j) == 1) {
-						rowToCover = j;
-						break;
-					}
-				}
+			if (columnCover.getBit(i) == 1 && columnDegree[i] == 1) {
+				int rowToCover = matrix.nextInColumn(i, 0);
+				while (rowCover.getBit(rowToCover) == 0)
+					rowToCover = matrix.nextInColumn(i, rowToCover + 1);
 				cyclicCoreRemains = false; // No cyclic core yet
-				for (int j = 0; j < columns.length; j++) {
-					/*
-					 * Cover all columns covered by essential prime implicant row,
-					 * including the original column
-					 */
-					if (columnCover.getBit(j) == 1 && rows[rowToCover].getBit(j) == 1) {
-						columnCover.clearBit(j);
-					}
-				}
-				rowCover.clearBit(rowToCover); // Cover the essential prime implicant
-																				// row
-				finalImplicants.add(originalImplicants.get(rowToCover));
+				/*
+				 * Cover all columns covered by essential prime implicant row,
+				 * including the original column, and the row itself
+				 */
+				coverRowAndColumns(rowToCover);
+				finalImplicants.add(implicantString(rowToCover));
 			}
 		}
 	}
 
+	/**
+	 * Fills in the degree counters from the current covers and queues every
+	 * uncovered column of degree 1
+	 */
+	private void computeDegrees() {
+		rowDegree = new int[matrix.getNumRows()];
+		columnDegree = new int[matrix.getNumColumns()];
+		pendingEssentials = new ArrayList<Integer>();
+		for (int i = 0; i < rowDegree.length; i++)
+			rowDegree[i] = matrix.countRow(i, columnCover);
+		for (int j = 0; j < columnDegree.length; j++) {
+			columnDegree[j] = matrix.countColumn(j, rowCover);
+			if (columnCover.getBit(j) == 1 && columnDegree[j] == 1)
+				pendingEssentials.add(j);
+		}
+	}
+
+	/**
+	 * Covers a column, taking it out of the degree of every row that covers it
+	 */
+	private void coverColumn(int column) {
+		if (columnCover.getBit(column) == 0)
+			return;
+		columnCover.clearBit(column);
+		for (int i = matrix.nextInColumn(column, 0); i >= 0; i = matrix.nextInColumn(column, i + 1))
+			rowDegree[i]--;
+	}
+
+	/**
+	 * Covers a row, taking it out of the degree of every column it covers and
+	 * queueing the uncovered columns left with a single row
+	 */
+	private void coverRow(int row) {
+		if (rowCover.getBit(row) == 0)
+			return;
+		rowCover.clearBit(row);
+		for (int j = matrix.nextInRow(row, 0); j >= 0; j = matrix.nextInRow(row, j + 1)) {
+			if (--columnDegree[j] == 1 && columnCover.getBit(j) == 1)
+				pendingEssentials.add(j);
+		}
+	}
+
+	/**
+	 * Covers a row chosen for the cover together with every column it covers
+	 */
+	private void coverRowAndColumns(int row) {
+		for (int j = matrix.nextInRow(row, 0); j >= 0; j = matrix.nextInRow(row, j + 1))
+			coverColumn(j);
+		coverRow(row);
+	}
+
 	/**
 	 * Row domination helper method
 	 * Covers/removes any rows which are subsets of other rows
 	 * Sets cyclicCoreRemains to false if any rows were removed
+	 * Rows are compared in place, restricted to the uncovered columns. A row can
+	 * only be a subset of one with at least its degree, and two rows of the same
+	 * degree are either equal or not subsets of each other at all
 	 */
 	private void rowDomination() {
 		ImplicantComparator comparator = new ImplicantComparator();
-		BitVector firstRow = new BitVector(columns.length);
-		BitVector secondRow = new BitVector(columns.length);
 
-		for (int i = 0; i < rows.length; i++) {
-			for (int j = i + 1; j < rows.length; j++) {
-				firstRow = rows[i].intersection(columnCover);
-				secondRow = rows[j].intersection(columnCover);
+		for (int i = 0; i < matrix.getNumRows(); i++) {
+			for (int j = i + 1; j < matrix.getNumRows() && rowCover.getBit(i) == 1; j++) {
+				if (rowCover.getBit(j) == 0)
+					continue;
 
-				// If both rows are uncovered and the first row is a superset of the
-				// second
-				if (rowCover.getBit(i) == 1 && rowCover.getBit(j) == 1 && firstRow.union(secondRow).equals(firstRow)) {
+				// If the first row is a superset of the second
+				if (rowDegree[j] <= rowDegree[i] && matrix.isRowSubset(j, i, columnCover)) {
 					cyclicCoreRemains = false; // No cyclic core yet
 
 					// If the second row is also a superset of the first
-					if (firstRow.union(secondRow).equals(secondRow)) {
+					if (rowDegree[j] == rowDegree[i]) {
 						// Remove the lexicographically later one
-						if (comparator.compare(originalImplicants.get(i), originalImplicants.get(j)) < 0)
-							rowCover.clearBit(j);
+						if (comparator.compare(implicantString(i), implicantString(j)) < 0)
+							coverRow(j);
 						else
-							rowCover.clearBit(i);
+							coverRow(i);
 					} else // Else, first row is the only superset, so remove second row
-						rowCover.clearBit(j);
-					// Else if both rows are uncovered and the second row is a superset of
-					// the first
-				} else if (rowCover.getBit(i) == 1 && rowCover.getBit(j) == 1 && firstRow.union(secondRow).equals(secondRow)) {
+						coverRow(j);
+					// Else if the second row is a superset of the first
+				} else if (rowDegree[i] < rowDegree[j] && matrix.isRowSubset(i, j, columnCover)) {
 					cyclicCoreRemains = false; // No cyclic core yet
-					rowCover.clearBit(i);
+					coverRow(i);
 				}
 			}
 		}
@@ -326,38 +1012,34 @@ public class ImplicantMintermTable {
 	 * Column domination helper method 
 	 * Covers/removes any columns which are supersets of other columns
 	 * Sets cyclicCoreRemains to false if any columns were removed
+	 * Columns are compared in place like the rows in rowDomination()
 	 */
 	private void columnDomination() {
 		ImplicantComparator comparator = new ImplicantComparator();
-		BitVector firstCol = new BitVector(rows.length);
-		BitVector secondCol = new BitVector(rows.length);
 
-		for (int i = 0; i < columns.length; i++) {
-			for (int j = i + 1; j < columns.length; j++) {
-				firstCol = columns[i].intersection(rowCover);
-				secondCol = columns[j].intersection(rowCover);
+		for (int i = 0; i < matrix.getNumColumns(); i++) {
+			for (int j = i + 1; j < matrix.getNumColumns() && columnCover.getBit(i) == 1; j++) {
+				if (columnCover.getBit(j) == 0)
+					continue;
 
-				// If both columns are uncovered and the first column is a superset of
-				// the second
-				if (columnCover.getBit(i) == 1 && columnCover.getBit(j) == 1 && firstCol.union(secondCol).equals(firstCol)) {
+				// If the first column is a superset of the second
+				if (columnDegree[j] <= columnDegree[i] && matrix.isColumnSubset(j, i, rowCover)) {
 					cyclicCoreRemains = false; // No cyclic core yet
 
 					// If the second column is also a superset of the first
-					if (firstCol.union(secondCol).equals(secondCol)) {
+					if (columnDegree[j] == columnDegree[i]) {
 						// Remove the lexicographically later one
-						if (comparator.compare(originalMinterms.get(i), originalMinterms.get(j)) < 0)
-							columnCover.clearBit(j);
+						if (comparator.compare(mintermString(i), mintermString(j)) < 0)
+							coverColumn(j);
 						else
-							columnCover.clearBit(i);
+							coverColumn(i);
 					} else // Else, first column is the only superset, so remove first
 									// column
-						columnCover.clearBit(i);
-					// Else if both rows are uncovered and the second row is a superset of
-					// the first
-				} else if (columnCover.getBit(i) == 1 && columnCover.getBit(j) == 1
-						&& firstCol.union(secondCol).equals(secondCol)) {
+						coverColumn(i);
+					// Else if the second column is a superset of the first
+				} else if (columnDegree[i] < columnDegree[j] && matrix.isColumnSubset(i, j, rowCover)) {
 					cyclicCoreRemains = false; // No cyclic core yet
-					columnCover.clearBit(j);
+					coverColumn(j);
 				}
 			}
 		}
@@ -368,8 +1050,8 @@ public class ImplicantMintermTable {
 	 * Helper method to print rows (for testing purposes)
 	 */
 	private void printRows() {
-		for (int i = 0; i < this.rows.length; i++) {
-			System.out.println(rows[i].toBinaryString());
+		for (int i = 0; i < matrix.getNumRows(); i++) {
+			System.out.println(matrix.getRow(i).toBinaryString());
 		}
 	}
 
@@ -377,8 +1059,8 @@ public class ImplicantMintermTable {
 	 * Helper method to print columns (for testing purposes)
 	 */
 	private void printColumns() {
-		for (int i = 0; i < this.columns.length; i++) {
-			System.out.println(columns[i].toBinaryString());
+		for (int i = 0; i < matrix.getNumColumns(); i++) {
+			System.out.println(matrix.getColumn(i).toBinaryString());
 		}
 	}
 
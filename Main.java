@@ -4,7 +4,9 @@ import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Tester class with some sample tests and their expected outputs. You will not be turning this in, and may
@@ -29,6 +31,31 @@ public class Main {
 						//"Abcde","aBCDE","aBCdE","aBCde","aBcDE","abCDE","abCDe","abCdE","abCde","abcDe","abcdE","abcde"));
 		runTest(11, Arrays.asList("ABCDEFgHIj","ABCDEFgHik","ABCDEFgIjK","ABCDEFgiJk","ABCDEfGIJK","ABCDEfghjK","ABCDEgHjk","ABCDFghIjK","ABCDeFghIj","ABCDeFghjK","ABCDeFhIjK","ABCDeGhiJk","ABCDefghJK","ABCDefghi","ABCDefgij","ABCDefgik","ABCDefhIJK","ABCDefhiJk","ABCDeghiK","ABCDegijK","ABCDfGhIJK","ABCDfGhiJk","ABCDfghij","ABCDfgijk","ABCEFgHijk","ABCEfGHIJk","ABCEfGhIjk","ABCEfGhiJk","ABCEfgHIjk","ABCEfghijk","ABCdEFGhjK","ABCdEFgHij","ABCdEGhIJk","ABCdEfGHIjK","ABCdEfGIJk","ABCdEfGhIk","ABCdEfGhJk","ABCdEfhiJk","ABCdFGHJK","ABCdFgHijK","ABCdeFGHiK","ABCdeFGHij","ABCdeFGJK","ABCdeFGhiJ","ABCdeFHijK","ABCdeFgHjK","ABCdeGHijK","ABCdefHIjk","ABCdefgHjk","ABCdfgHIjk","ABCeFGHJK","ABCeFgHijK","ABCefghiK","ABDEfGHijK","ABDEfgHiJK","ABDEfgHjk","ABDEfghij","ABDEfgijk","ABDeFGHIJK","ABDeFGhIjK","ABEfGhIJK","ABcDEFGHiJk","ABcDEGHijK","ABcDEGhIJ","ABcDEfGhI","ABcDEfGhJK","ABcDEfHij","ABcDEfgHiK","ABcDEfgHj","ABcDEfgij","ABcDEfgjk","ABcDEfhIk","ABcDEghIjk","ABcDeFGhIj","ABcDfGhIJk","ABcDfgHIjk","ABcEfGHijK","ABcEfGhIJ","ABcEfGhIK","ABcEfgHijk","ABcEfghIk","ABcEfghJk","ABcEfhIJk","ABcdEFGHIj","ABcdEFGHjk","ABcdEFGIjk","ABcdEFHIjK","ABcdEFHiJK","ABcdEFHijk","ABcdEFgHIK","ABcdEFgHJK","ABcdEFgHiJ","ABcdEFgHik","ABcdEfGhjK","ABcdEfGijK","ABcdEfgIJK","ABcdEfhIJ","ABcdEgHIJK","ABcdEgHijk","ABcdEghiJk","ABcdFGHIjk","ABcdFgHIjK","ABcdFgHiJk","ABcdeFGhIJ","ABcdeFHIjk","ABcdeFHiJk","ABcdeFgIJk","ABcdeFgIjK","ABcdeFhIJk","ABcdeGhIJK","ABcdefGhJK","ABcdefGhijk","ABcdefgHiJ","ABcdefhIjK","ABcdegHIk","ABcdegHJk","ABcdeghIjK","ABcdfGhIK","ABcefgHIjk","ABcefghIjK","ABdEFGHiJK","ABdEFgHijk","ABdEfGhIJ","ABdEfghiJk","ABdeFGhIJK","ABdeFgHIj","ABdeFgHiJk","ABdeFghIJk","ABdeFghijk","ABdefghIjK","ABdegHIjk","ACDEFGHIJk","ACDEFgHjk","ACDEFghiJk","ACDEfGhiJk","ACDEghIjK","ACDeFGHIjk","ACDeFgHijK","ACDeFghIjk","ACDefGhIK","ACdEFGhIjK","ACdeFGHijk","ACdeFgHIj","ACdeFghijk","ACdeGHIJK","ACdefgIjk","ACdefghIj","ACdefghjK","ACdegHIjk","ACeFGhiJk","ACefghijK","ADeFGhiJk","AbCDEFgHIJK","AbCDEFghJk","AbCDEGHIjK","AbCDEfGHIj","AbCDEfGhJk","AbCDEfGhik","AbCDEfGijk","AbCDEfgHIJk","AbCDEghIj","AbCDFGHIJk","AbCDFgHijk","AbCDFghiJk","AbCDeFGhij","AbCDeFGhik","AbCDeFGijK","AbCDeFHijK","AbCDeFgHiK","AbCDeFgHij","AbCDeGHIk","AbCDeGhIJK","AbCDefGIk","AbCDefGhI","AbCDefIjk","AbCDegHiJK","AbCDfGHjk","AbCDghIjk","AbCEFgIjk","AbCEfGhijk","AbCFghIjk","AbCdEFGHij","AbCdEFGhJK","AbCdEFHIjk","AbCdEFgHIk","AbCdEFghiK","AbCdEFhiJK","AbCdEfgHiJ","AbCdEfgHik","AbCdEgHiJK","AbCdFGHijk","AbCdFgIjk","AbCdFgiJK","AbCdeFGhJk","AbCdeFghiJ","AbCdeFghik","AbCdeFghjk","AbCdeGHijk","AbCdeGhIJk","AbCdefGhiK","AbCdefhijK","AbCdegIjk","AbCdfghijK","AbCeFhiJk","AbCefgIjk","AbCeghIjk","AbDEFghiJk","AbDEfGHIjK","AbDEfGHijk","AbDEfgHijK","AbDEfghIj","AbDeFGhijK","AbDeFgHijk","AbDeFghIjk","AbDeGHIJk","AbDefGhIjK","AbDefgHIj","AbEFgHIjk","AbcDEFhijK","AbcDEfIjK","AbcDEghiJk","AbcDFgHIjk","AbcDGhijK","AbcDeFGHIK","AbcDeFgHjk","AbcDeFgIk","AbcDeFghIJ","AbcDeFghJK","AbcDeFgiJK","AbcDeGHIjK","AbcDeGhiJk","AbcDeHIJk","AbcDefGHJk","AbcDefGiJk","AbcDefGjK","AbcDefgHI","AbcDegHIk","AbcDegIJk","AbcDfGHIJk","AbcDfGIjK","AbcDfGhjK","AbcDfHIjK","AbcDfghIJk","AbcEFGhiJK","AbcEFghijK","AbcEfhIjK","AbcdEFHijK","AbcdEFghIJK","AbcdEFgijK","AbcdEGHijK","AbcdEGhiJK","AbcdEfGHIk","AbcdEfHIjk","AbcdEfghjK","AbcdEgHIjk","AbcdFgHijK","AbcdeFGHIj","AbcdeFGHik","AbcdeFGHjk","AbcdeFHiJK","AbcdeFgHiK","AbcdefghiJ","AbcdefgiJk","AbcdefhIjk","AbcdfgHiJk","AbceFGHIjK","AbceFGHijk","AbceFGhijK","AbdEFGHijK","AbdEFGhiJK","AbdEfgHiJk","AbdEghijK","AbdeFGHijk","AbdefghIjk","AbeFgHiJK","AcDEfgHjK","AcDEfghk","AcDeFGHIJ","AcDeFHijk","AcDeFgHiJK","AcDefGHiJk","AcDefGhijK","AcDefgHIjk","AcEfGhIjK","AcEfghIJk","AcdEfGHijK","AcdeFGHIjk","AcdeFGHiJk","AcdefgHiJk","BCDEFgHiJ","BCDEGHIJk","BCDEfGHIJ","BCDEfGHijK","BCDEgHiJK","BCDeFGhJk","BCDeFgHIJk","BCDeGhIjK","BCDefHijk","BCDefgHik","BCDefghIJK","BCDefghijK","BCDefgiJk","BCdEfGhIJ","BCdEfghik","BCdeFGHIJ","BCdeFGHJK","BCdeFgHIjK","BCdeFghIJk","BCdefghIj","BCeFGHiJK","BCefgHijk","BDEfGhIjk","BDeFGhiJk","BcDEFghIjk","BcDEGhIJk","BcDEfGhIJ","BcDEfGhIk","BcDEfgHijK","BcDEfghik","BcDefGHiJk","BcDefghIjK","BcEfGhIJK","BcdEFGHIjk","BcdEFgiJk","BcdEFhiJk","BcdEfGhijK","BcdEfgHijk","BcdeFgHIJk","BcdefGhIjK","BcdefgHiJK","BdEfGhIJK","BdEfgHIJK","CDefGHijk","CDefGhIjK","CdeFGHIJK","aBCDEFgiJK","aBCDEGHIJ","aBCDEfGHK","aBCDEfGijK","aBCDEfHiJK","aBCDFGHIJk","aBCDFGhIjK","aBCDFGhiJk","aBCDFgHiJ","aBCDeFGHi","aBCDeFGJk","aBCDeFGiJ","aBCDeFGiK","aBCDeFHJk","aBCDeFHiJ","aBCDeFgHIj","aBCDeFgHIk","aBCDeFiJk","aBCDeGHijk","aBCDeghIJK","aBCDegiJk","aBCDfghIJK","aBCEFgHiJk","aBCEFghiJK","aBCEfGHIJK","aBCdEFghJK","aBCdEFghiJ","aBCdEfGIJK","aBCdEfGhIK","aBCdEfHIJK","aBCdEfghij","aBCdEfghjk","aBCdEghiJk","aBCdFghiJK","aBCdeFGHI","aBCdeFHIK","aBCdeFghiK","aBCdeGHIJk","aBCdeGHiJK","aBCdefGhjK","aBCdefHiJK","aBCdefgHiJ","aBCdefhIjK","aBCdegHijk","aBCdfGhIjK","aBCdfghIjk","aBCeFgHIjK","aBCefHijk","aBCefgHik","aBCefghIjk","aBDEFGHIJK","aBDEFgHiJK","aBDEfGHIJk","aBDEfGHIjK","aBDEfGhijK","aBDeFgHJk","aBDefHijk","aBDefghIJK","aBDefghiJk","aBcDEFgHIj","aBcDEFgIjk","aBcDEFghjk","aBcDEGhijK","aBcDEfGIJk","aBcDEfghiJ","aBcDEghik","aBcDFgHIjK","aBcDFghIjk","aBcDeFgHjK","aBcDefGHik","aBcDefHij","aBcDefgIJ","aBcDefghIK","aBcDefghJk","aBcDefhIjK","aBcDegHIJk","aBcDegHijK","aBcDfGHijk","aBcDfgHIJ","aBcDfgHijK","aBcDfghiJk","aBcEFgHIjk","aBcEFghIJK","aBcEFghik","aBcEfGHIjK","aBcEfGhijK","aBcEfHIJk","aBcEfgHIJ","aBcEfgHijK","aBcEfghiJK","aBcdEFGhiJ","aBcdEFHIjk","aBcdEFghIJ","aBcdEFghIK","aBcdEFghJk","aBcdEFhIjK","aBcdEGHIjk","aBcdEfGHIj","aBcdEfGHIk","aBcdEfGhij","aBcdEfHiJK","aBcdEfgHij","aBcdEfgIJk","aBcdEfgiK","aBcdEfhijK","aBcdeFGijK","aBcdefGhJk","aBcdefGiJk","aBcdfGHIjk","aBcdfgHJK","aBceFgHIJk","aBcefGHiJk","aBcfgHIJK","aBdEFghIJK","aBdEFgiJk","aBdEfgHIJ","aBdEfghijK","aBdefgHiJK","aBefGhIjK","aCDEFghIJk","aCDEfGHiJK","aCDEfGhIjk","aCDEfGhijK","aCDeFGhjK","aCDeFHIJk","aCDeFghIJK","aCDeGhIjK","aCDefghIjk","aCdEFGHijk","aCdEFghIJK","aCdEfgHIJK","aCdEfghIjk","aCdeFGHIJ","aCdeFghiJK","aCdefGhijK","aCeFGHIJk","aCefGHijk","aDeFgHIjK","abCDEFghj","abCDEFhij","abCDEFhjk","abCDEGhIjk","abCDEGhijK","abCDEfGhiK","abCDEfGhjK","abCDEfGiJK","abCDEghijk","abCDFGhijK","abCDFghIj","abCDefGHIK","abCDefGHij","abCDefGHjK","abCDefGIjK","abCDegHIJk","abCDfGhIj","abCDfGhIk","abCEFGHiJK","abCEFghIjK","abCEfGhiJK","abCdEFhIK","abCdEGHijk","abCdEfHijk","abCdEghIjK","abCdFGhiJk","abCdFghIJK","abCdeFGiJk","abCdefGHIj","abCdefGHjk","abCdefGhij","abCdefGijk","abCdefHIjk","abCdefgHijK","abCdefhIJk","abCdeghiJK","abCdfGHijk","abCdfgHIJK","abCeFHIJk","abCeFghJK","abCefGHIjK","abDEFGhij","abDEFghIk","abDEGHiJK","abDEfghijk","abDeFgIjK","abDeFghIK","abDeFhIjK","abDefGHIjK","abcDEFGhi","abcDEFgHiK","abcDEFiJK","abcDEGhik","abcDEGijk","abcDEHiJK","abcDEfGHIk","abcDEfGHjk","abcDEfghij","abcDEfhijk","abcDFGijk","abcDFgHiJK","abcDeFGHij","abcDeFGHik","abcDeFGHjk","abcDeFGhIJ","abcDeFghik","abcDeFhijk","abcDeGHIjk","abcDefGHIj","abcDefGiJK","abcDfGHIjk","abcDfGHiJK","abcDfGhiJk","abcEFGHIJK","abcEFghIJk","abcEFghiJK","abcEfGHijk","abcdEFghiK","abcdEFghij","abcdEFgijk","abcdEGHiJk","abcdEfGHJk","abcdEfghI","abcdEfghJK","abcdEghiJK","abcdFGHIJK","abcdFgHijk","abcdeFGHJ","abcdeFHiJk","abcdeFIJK","abcdeFgHij","abcdeGhIjK","abcdeHIJK","abcdefghijK","abcdegHik","abcdegIJK","abcdfghIJK","abceFGHiJk","abceFhIK","abcefGhiJK","abcefgHiJk","abdEFGHIjk","abdEfGHik","abdEfghIj","abdFGhIjK","abdeFGHIJ","abdeFGHJk","abdefgHIJK","abeFGhIjK","abeFghIJK","acDEFGHJK","acDEFGhijK","acDEFHiJK","acDEFghIjk","acDEGHijk","acDeFGhIJK","acDefGhiJK","acDefgHijK","acEfGHIJk","acdEFGHIjk","acdEFGhIjK","acdEFghijk","acdEfghiJK","acdEghIJk","acdefGhIjK","acdefgHIJK","adeFGHIJK","bCDEFghIj","bCDEFghIk","bCDEFhIjk","bCDEfgHijK","bCDFghIjk","bCDeFGHIJk","bCDeFGhijK","bCDefGhIj","bCDefGhIk","bCDefgHiJK","bCDefhIjk","bCDeghIjk","bCDfGhIJk","bCdEFGHjk","bCdEFGhIK","bCdEfgHijk","bCdFGhIjK","bCdeFGhiJk","bCdeFgiJK","bCdefGhijK","bCdefgHIjk","bCeFghIjk","bCefGHijk","bCefGhIJk","bcDEFGhiK","bcDeFGHijk","bcDeFgHiJK","bcDeFghIJK","bcDefGHIjK","bcDefGhiJ","bcDefGhiK","bcEfGHIJk","bcdEFGHIJK","bcdEFGHijK","bcdEFghijK","bcdEfghIjK","bcdFGHiJk","bcdeFGHiJ","bcdeFgHijK","bcdefgHiJk","cDEfGHijk","cDEfghijk","cdEfghIJk"),
 				Arrays.asList("ABCDEFGHIJk","ABCDEFgHIjK","ABCDEFgHIjk","ABCDEFgHiJK","ABCDEFgHiJk","ABCDEFgHijk","ABCDEFghIjK","ABCDEFghiJk","ABCDEfGHIJK","ABCDEfGHIJk","ABCDEfGHijK","ABCDEfGhIJK","ABCDEfGhIjk","ABCDEfGhiJk","ABCDEfgHIjk","ABCDEfgHiJK","ABCDEfgHijk","ABCDEfghIjK","ABCDEfghijK","ABCDEfghijk","ABCDeFGHIJK","ABCDeFGHIjk","ABCDeFGHiJK","ABCDeFGhIJk","ABCDeFGhIjK","ABCDeFGhiJk","ABCDeFgHIJk","ABCDeFgHijK","ABCDeFghIjK","ABCDeFghIjk","ABCDeFghiJK","ABCDeFghijK","ABCDefGHijk","ABCDefGhIJK","ABCDefGhIjK","ABCDefGhiJk","ABCDefgHiJk","ABCDefgHijK","ABCDefgHijk","ABCDefghIJK","ABCDefghiJK","ABCDefghiJk","ABCDefghijK","ABCDefghijk","ABCdEFGHIJK","ABCdEFGHiJK","ABCdEFGhIJk","ABCdEFGhIjK","ABCdEFGhijK","ABCdEFgHijK","ABCdEFgHijk","ABCdEfGHIJk","ABCdEfGHIjK","ABCdEfGhIJK","ABCdEfGhIJk","ABCdEfGhIjk","ABCdEfGhiJk","ABCdEfgHIJK","ABCdEfgHIjk","ABCdEfghiJk","ABCdEfghijk","ABCdeFGHIJK","ABCdeFGHIJk","ABCdeFGHiJK","ABCdeFGHijK","ABCdeFGHijk","ABCdeFGhIJK","ABCdeFGhiJK","ABCdeFGhiJk","ABCdeFgHIjK","ABCdeFgHIjk","ABCdeFgHiJk","ABCdeFgHijK","ABCdeFghIJk","ABCdeFghijk","ABCdefGHIJK","ABCdefGHIjk","ABCdefGHijK","ABCdefgHIjk","ABCdefgHijk","ABCdefghIjK","ABCdefghIjk","ABCdefghiJK","ABCdefghijK","ABcDEFGHiJk","ABcDEFGHijK","ABcDEFGhIJK","ABcDEFGhIJk","ABcDEFghIjk","ABcDEfGHijK","ABcDEfGHijk","ABcDEfGhIJK","ABcDEfGhIJk","ABcDEfGhIjK","ABcDEfGhIjk","ABcDEfGhiJK","ABcDEfgHIjK","ABcDEfgHIjk","ABcDEfgHiJK","ABcDEfgHijK","ABcDEfgHijk","ABcDEfghIJk","ABcDEfghIjk","ABcDEfghiJk","ABcDEfghijK","ABcDEfghijk","ABcDeFGHIJK","ABcDeFGHIJk","ABcDeFGHijk","ABcDeFGhIjK","ABcDeFGhIjk","ABcDeFGhiJk","ABcDeFgHiJK","ABcDeFgHijk","ABcDefGHiJk","ABcDefGhIJk","ABcDefGhijK","ABcDefgHIjk","ABcDefghIjK","ABcdEFGHIjK","ABcdEFGHIjk","ABcdEFGHiJK","ABcdEFGHijk","ABcdEFGhIjk","ABcdEFGhiJk","ABcdEFgHIJK","ABcdEFgHIjK","ABcdEFgHiJK","ABcdEFgHiJk","ABcdEFgHijk","ABcdEFghiJk","ABcdEfGHijK","ABcdEfGhIJK","ABcdEfGhIJk","ABcdEfGhIjK","ABcdEfGhijK","ABcdEfgHIJK","ABcdEfgHijk","ABcdEfghIJK","ABcdEfghIJk","ABcdEfghIjk","ABcdEfghiJk","ABcdeFGHIjk","ABcdeFGHiJk","ABcdeFGhIJK","ABcdeFGhIJk","ABcdeFgHIJk","ABcdeFgHIjK","ABcdeFgHIjk","ABcdeFgHiJk","ABcdeFghIJk","ABcdeFghIjK","ABcdeFghijk","ABcdefGhIJK","ABcdefGhIjK","ABcdefGhiJK","ABcdefGhijk","ABcdefgHIJk","ABcdefgHIjk","ABcdefgHiJK","ABcdefgHiJk","ABcdefghIjK","AbCDEFGHIJk","AbCDEFGHIjK","AbCDEFGhIjk","AbCDEFgHIJK","AbCDEFgHIjk","AbCDEFgHijk","AbCDEFghIJk","AbCDEFghIjK","AbCDEFghIjk","AbCDEFghiJk","AbCDEfGHIjK","AbCDEfGHIjk","AbCDEfGHijk","AbCDEfGhIJk","AbCDEfGhiJk","AbCDEfGhijk","AbCDEfgHIJk","AbCDEfgHijK","AbCDEfghIjK","AbCDEfghIjk","AbCDeFGHIJk","AbCDeFGHIjk","AbCDeFGHijK","AbCDeFGhIJK","AbCDeFGhiJk","AbCDeFGhijK","AbCDeFGhijk","AbCDeFgHiJK","AbCDeFgHijK","AbCDeFgHijk","AbCDeFghIjk","AbCDeFghiJk","AbCDefGHIJk","AbCDefGHIjk","AbCDefGHijk","AbCDefGhIJK","AbCDefGhIJk","AbCDefGhIjK","AbCDefGhIjk","AbCDefgHIjK","AbCDefgHIjk","AbCDefgHiJK","AbCDefghIjk","AbCDefghijK","AbCdEFGHIjk","AbCdEFGHijK","AbCdEFGHijk","AbCdEFGhIJK","AbCdEFGhIjK","AbCdEFGhiJK","AbCdEFgHIJk","AbCdEFgHIjk","AbCdEFgHiJK","AbCdEFghIjk","AbCdEFghiJK","AbCdEFghijK","AbCdEfGhijk","AbCdEfgHiJK","AbCdEfgHiJk","AbCdEfgHijk","AbCdEfghijK","AbCdeFGHIJK","AbCdeFGHijk","AbCdeFGhIJk","AbCdeFGhIjK","AbCdeFGhiJk","AbCdeFgHIjK","AbCdeFgHIjk","AbCdeFgHiJK","AbCdeFghIjk","AbCdeFghiJK","AbCdeFghiJk","AbCdeFghijk","AbCdefGHIJK","AbCdefGHijk","AbCdefGhIJk","AbCdefGhiJK","AbCdefGhijK","AbCdefgHIjk","AbCdefghIjK","AbCdefghIjk","AbCdefghijK","AbcDEFGhiJK","AbcDEFGhijK","AbcDEFgHIjk","AbcDEFghiJk","AbcDEFghijK","AbcDEfGHIJk","AbcDEfGHIjK","AbcDEfGHijk","AbcDEfGhIjK","AbcDEfGhijK","AbcDEfgHIjK","AbcDEfgHijK","AbcDEfghIJk","AbcDEfghIjK","AbcDEfghIjk","AbcDEfghiJk","AbcDEfghijk","AbcDeFGHIJK","AbcDeFGHIJk","AbcDeFGHIjK","AbcDeFGHijk","AbcDeFGhiJk","AbcDeFGhijK","AbcDeFgHIJk","AbcDeFgHIjk","AbcDeFgHiJK","AbcDeFgHijk","AbcDeFghIJK","AbcDeFghIJk","AbcDeFghIjk","AbcDeFghiJK","AbcDefGHIJk","AbcDefGHIjK","AbcDefGHiJk","AbcDefGHijK","AbcDefGhIjK","AbcDefGhiJK","AbcDefGhiJk","AbcDefGhijK","AbcDefgHIJK","AbcDefgHIJk","AbcDefgHIjK","AbcDefgHIjk","AbcDefghIJk","AbcdEFGHIJK","AbcdEFGHiJk","AbcdEFGHijK","AbcdEFGhiJK","AbcdEFgHIjk","AbcdEFgHijK","AbcdEFghIJK","AbcdEFghijK","AbcdEfGHIJk","AbcdEfGHIjk","AbcdEfGHijK","AbcdEfGhIjK","AbcdEfGhiJK","AbcdEfgHIjk","AbcdEfgHiJk","AbcdEfghIJk","AbcdEfghIjK","AbcdEfghijK","AbcdeFGHIjK","AbcdeFGHIjk","AbcdeFGHiJK","AbcdeFGHiJk","AbcdeFGHijk","AbcdeFGhijK","AbcdeFgHiJK","AbcdeFgHijK","AbcdefGhIjk","AbcdefgHiJk","AbcdefghIjk","AbcdefghiJK","AbcdefghiJk","aBCDEFGHIJK","aBCDEFGHIJk","aBCDEFGhIjK","aBCDEFGhiJk","aBCDEFgHiJK","aBCDEFgHiJk","aBCDEFghIJk","aBCDEFghiJK","aBCDEfGHIJK","aBCDEfGHIJk","aBCDEfGHIjK","aBCDEfGHiJK","aBCDEfGHijK","aBCDEfGhIjk","aBCDEfGhijK","aBCDEfgHiJK","aBCDEfghIJK","aBCDeFGHIJk","aBCDeFGHiJK","aBCDeFGHiJk","aBCDeFGHijK","aBCDeFGHijk","aBCDeFGhIJk","aBCDeFGhIjK","aBCDeFGhiJK","aBCDeFGhiJk","aBCDeFGhijK","aBCDeFgHIJk","aBCDeFgHIjK","aBCDeFgHIjk","aBCDeFgHiJK","aBCDeFgHiJk","aBCDeFghIJK","aBCDeFghiJk","aBCDefGHijk","aBCDefGhIjK","aBCDefgHiJk","aBCDefgHijk","aBCDefghIJK","aBCDefghIjk","aBCDefghiJk","aBCDefghijK","aBCdEFGHijk","aBCdEFgHiJk","aBCdEFghIJK","aBCdEFghiJK","aBCdEFghiJk","aBCdEfGHIJK","aBCdEfGhIJK","aBCdEfGhIJk","aBCdEfGhIjK","aBCdEfgHIJK","aBCdEfgHIJk","aBCdEfghIjk","aBCdEfghiJk","aBCdEfghijK","aBCdEfghijk","aBCdeFGHIJK","aBCdeFGHIJk","aBCdeFGHIjK","aBCdeFGHIjk","aBCdeFGHiJK","aBCdeFgHIJK","aBCdeFgHIjK","aBCdeFgHijk","aBCdeFghIJk","aBCdeFghiJK","aBCdeFghijK","aBCdefGHIJk","aBCdefGHiJK","aBCdefGHijk","aBCdefGhIjK","aBCdefGhijK","aBCdefgHiJK","aBCdefgHiJk","aBCdefgHijk","aBCdefghIjK","aBCdefghIjk","aBcDEFGHIJK","aBcDEFGHiJK","aBcDEFGHijk","aBcDEFGhIJk","aBcDEFGhijK","aBcDEFgHIjK","aBcDEFgHIjk","aBcDEFgHiJK","aBcDEFghIJK","aBcDEFghIjk","aBcDEFghiJk","aBcDEFghijk","aBcDEfGHIJk","aBcDEfGHIjK","aBcDEfGHijk","aBcDEfGhIJK","aBcDEfGhIJk","aBcDEfGhIjk","aBcDEfGhijK","aBcDEfgHIJK","aBcDEfgHIJk","aBcDEfgHijK","aBcDEfghiJK","aBcDEfghiJk","aBcDEfghijk","aBcDeFGhIJK","aBcDeFGhiJk","aBcDeFgHIJk","aBcDeFgHIjK","aBcDeFgHiJk","aBcDeFgHijK","aBcDeFghIjk","aBcDefGHiJk","aBcDefGHijK","aBcDefGHijk","aBcDefGhIjK","aBcDefGhiJK","aBcDefgHIJK","aBcDefgHIJk","aBcDefgHijK","aBcDefgHijk","aBcDefghIJK","aBcDefghIJk","aBcDefghIjK","aBcDefghiJk","aBcdEFGHIjk","aBcdEFGhIjK","aBcdEFGhiJK","aBcdEFGhiJk","aBcdEFgHIjk","aBcdEFgHiJk","aBcdEFghIJK","aBcdEFghIJk","aBcdEFghIjK","aBcdEFghiJk","aBcdEFghijk","aBcdEfGHIJk","aBcdEfGHIjK","aBcdEfGHIjk","aBcdEfGHiJK","aBcdEfGhIJK","aBcdEfGhijK","aBcdEfGhijk","aBcdEfgHIJK","aBcdEfgHIJk","aBcdEfgHiJK","aBcdEfgHijK","aBcdEfgHijk","aBcdEfghIJk","aBcdEfghiJK","aBcdEfghijK","aBcdeFGHIJK","aBcdeFGHijK","aBcdeFGhijK","aBcdeFgHIJk","aBcdefGHIjk","aBcdefGHiJk","aBcdefGhIJk","aBcdefGhIjK","aBcdefGhiJk","aBcdefgHIJK","aBcdefgHiJK","abCDEFGHiJK","abCDEFGhIjk","abCDEFGhijK","abCDEFGhijk","abCDEFghIJk","abCDEFghIjK","abCDEFghIjk","abCDEFghijK","abCDEFghijk","abCDEfGHiJK","abCDEfGhIJk","abCDEfGhIjK","abCDEfGhIjk","abCDEfGhiJK","abCDEfGhijK","abCDEfgHijK","abCDEfghijk","abCDeFGHIJk","abCDeFGhIjK","abCDeFGhijK","abCDeFgHIJk","abCDeFgHIjK","abCDeFghIJK","abCDeFghIjK","abCDeFghIjk","abCDeFghiJK","abCDefGHIJK","abCDefGHIjK","abCDefGHijK","abCDefGHijk","abCDefGhIJk","abCDefGhIjK","abCDefGhIjk","abCDefgHIJk","abCDefgHiJK","abCDefghIjk","abCdEFGHIjk","abCdEFGHiJK","abCdEFGHijk","abCdEFGhIJK","abCdEFGhIjK","abCdEFGhiJk","abCdEFghIJK","abCdEFghIjK","abCdEfGHiJk","abCdEfGHijk","abCdEfGhiJK","abCdEfgHIJK","abCdEfgHijk","abCdEfghIjK","abCdEfghIjk","abCdeFGHIJK","abCdeFGHIJk","abCdeFGHiJk","abCdeFGhIjK","abCdeFGhiJk","abCdeFgHIJk","abCdeFgHiJK","abCdeFghIJK","abCdeFghIjk","abCdeFghiJK","abCdefGHIjK","abCdefGHIjk","abCdefGHijk","abCdefGhIJk","abCdefGhijK","abCdefGhijk","abCdefgHIJK","abCdefgHIjk","abCdefgHijK","abCdefghIJk","abCdefghiJK","abcDEFGHIJK","abcDEFGHiJK","abcDEFGHijk","abcDEFGhiJK","abcDEFGhiJk","abcDEFGhijK","abcDEFGhijk","abcDEFgHiJK","abcDEFgHijK","abcDEFghIJk","abcDEFghIjk","abcDEFghiJK","abcDEfGHIJk","abcDEfGHIjk","abcDEfGHiJK","abcDEfGHijk","abcDEfGhiJk","abcDEfGhijk","abcDEfgHiJK","abcDEfghijK","abcDEfghijk","abcDeFGHIjk","abcDeFGHiJk","abcDeFGHijK","abcDeFGHijk","abcDeFGhIJK","abcDeFGhIJk","abcDeFGhIjK","abcDeFGhijk","abcDeFgHIjK","abcDeFgHiJK","abcDeFghIJK","abcDeFghIjK","abcDeFghiJk","abcDeFghijk","abcDefGHIjK","abcDefGHIjk","abcDefGHiJK","abcDefGhiJK","abcDefGhiJk","abcDefGhijK","abcDefgHiJk","abcDefgHijK","abcdEFGHIJK","abcdEFGHIjk","abcdEFGHiJk","abcdEFGHijK","abcdEFGhIjK","abcdEFgHijk","abcdEFghIJk","abcdEFghiJK","abcdEFghijK","abcdEFghijk","abcdEfGHIJk","abcdEfGHiJk","abcdEfGHijk","abcdEfghIJK","abcdEfghIJk","abcdEfghIjK","abcdEfghIjk","abcdEfghiJK","abcdeFGHIJK","abcdeFGHIJk","abcdeFGHiJK","abcdeFGHiJk","abcdeFGhIJK","abcdeFGhIjK","abcdeFgHIJK","abcdeFgHiJk","abcdeFgHijK","abcdeFgHijk","abcdeFghIJK","abcdeFghIjK","abcdefGHIJK","abcdefGhIjK","abcdefGhiJK","abcdefgHIJK","abcdefgHiJk","abcdefgHijk","abcdefghIJK","abcdefghijK"));/* As the inputs are quite long, we will supply more tests in a separate file */
+
+		/* Editing a table and calling recover() must give a cover as small as solving the edited function afresh */
+		runEditTest(3, Arrays.asList("ab", "aC", "BC", "bc"), Arrays.asList("ABC", "Abc", "aBC", "abC", "abc"),
+				Arrays.asList("aBc"), Arrays.asList("abc"));
+		runEditTest(4, Arrays.asList("ABC","ABd","ACD","AbD","Abc","Acd","abd","bcd"),
+				Arrays.asList("ABCD","ABCd","ABcd","AbCD","AbcD","Abcd","abCd","abcd"),
+				Arrays.asList("aBCD","aBcd"), Arrays.asList("ABCd","abcd"));
+		runEditTest(5, Arrays.asList("ABE","ADE","AbcD","BCd","BDE","CE","aCd","abC","abd","abe","bce"),
+				Arrays.asList("ABCDE","ABCdE","ABCde","ABcDE","ABcdE","AbCDE","AbCdE","AbcDE","AbcDE","AbcDe",
+						"Abcde","aBCDE","aBCdE","aBCde","aBcDE","abCDE","abCDe","abCdE","abCde","abcDe","abcdE","abcde"),
+				Arrays.asList("aBcde","AbCDe"), Arrays.asList("ABCDE","abCdE","AbcDE"));
+		/* On a dense function, editing and recovering must not cost more than solving the edited function afresh */
+		runDenseEditTest(16);
+
+		/* The truth-table constructor must give the same covers as the string constructor, before and after edits */
+		runTruthTableTest(8, 300, 1);
+
+		/* Espresso's covers must agree with the function on every minterm */
+		runEspressoTest(8, 500, 1);
+
+		/* The cyclic-core search spread over worker JVMs must find the same cover as createFinalCover() */
+		runDistributedTest(3, Arrays.asList("AB","Ac","BC","aC","ab","bc"), Arrays.asList("ABC","ABc","Abc","aBC","abC","abc"), 3);
+		runDistributedTest(5, Arrays.asList("ABE","ADE","AbcD","BCd","BDE","CE","aCd","abC","abd","abe","bce"),
+				Arrays.asList("ABCDE","ABCdE","ABCde","ABcDE","ABcdE","AbCDE","AbCdE","AbcDE","AbcDE","AbcDe",
+						"Abcde","aBCDE","aBCdE","aBCde","aBcDE","abCDE","abCDe","abCdE","abCde","abcDe","abcdE","abcde"), 3);
 	}
 	
 
@@ -59,6 +86,234 @@ public class Main {
 	}
 
 
+	/**
+	 * Solves the function, edits the table with addMinterm()/removeMinterm() and calls recover(), then checks
+	 * the result against createFinalCover() on a table built from scratch for the edited function.
+	 */
+	public static void runEditTest(int numVars, List<String> implicants, List<String> minterms, List<String> added,
+			List<String> removed) {
+		System.out.println("Number of Variables: " + numVars);
+		System.out.println("Minterms Added: " + added + ", Removed: " + removed);
+		ImplicantMintermTable imt = new ImplicantMintermTable(numVars, implicants, minterms);
+		imt.createFinalCover();
+
+		/* Start timer */
+		Calendar cal = Calendar.getInstance();
+		for (String minterm : added)
+			imt.addMinterm(minterm);
+		for (String minterm : removed)
+			imt.removeMinterm(minterm);
+		List<String> recovered = imt.recover();
+
+		/* End timer */
+		Calendar cal2 = Calendar.getInstance();
+		long milliseconds = cal2.getTimeInMillis() - cal.getTimeInMillis();
+
+		/* The edited function, with its primes found by Tabulation */
+		long[] truthTable = new long[Tabulation.wordsFor(numVars)];
+		for (String minterm : minterms) {
+			long packed = Tabulation.packValue(minterm);
+			truthTable[(int) (packed >>> 6)] |= 1L << (packed & 63);
+		}
+		for (String minterm : added) {
+			long packed = Tabulation.packValue(minterm);
+			truthTable[(int) (packed >>> 6)] |= 1L << (packed & 63);
+		}
+		for (String minterm : removed) {
+			long packed = Tabulation.packValue(minterm);
+			truthTable[(int) (packed >>> 6)] &= ~(1L << (packed & 63));
+		}
+		List<String> finalCover = new ImplicantMintermTable(numVars, Tabulation.primeImplicants(numVars, truthTable, null),
+				Tabulation.minterms(numVars, truthTable)).createFinalCover();
+
+		System.out.println("Completed in " + milliseconds + " milliseconds.");
+		System.out.println("Implicants in Minimal Cover: " + recovered);
+		/* Rows are numbered differently after edits, so the same cover may be listed in another order */
+		System.out.println("Matches createFinalCover(): " + new HashSet<String>(recovered).equals(new HashSet<String>(finalCover)));
+		System.out.print("Test Completed!\n\n");
+	}
+
+
+	/**
+	 * Builds a table from the truth table of every minterm but the first (minterm 0), solves it, then removes
+	 * minterm 5 and adds minterm 0, and times the edits and recover() against building and solving a table for the
+	 * edited function.
+	 */
+	public static void runDenseEditTest(int numVars) {
+		System.out.println("Number of Variables: " + numVars);
+		long full = (1L << numVars) - 1;
+		long[] truthTable = new long[Tabulation.wordsFor(numVars)];
+		Arrays.fill(truthTable, -1L);
+		truthTable[0] &= ~1L;
+		ImplicantMintermTable imt = new ImplicantMintermTable(numVars, truthTable, null);
+		imt.createFinalCover();
+
+		/* Start timer */
+		Calendar cal = Calendar.getInstance();
+		imt.removeMinterm(Tabulation.termString(numVars, full, 5));
+		imt.addMinterm(Tabulation.termString(numVars, full, 0));
+		Calendar cal2 = Calendar.getInstance();
+		List<String> recovered = imt.recover();
+
+		/* End timer */
+		Calendar cal3 = Calendar.getInstance();
+		truthTable[0] = ~(1L << 5);
+		List<String> finalCover = new ImplicantMintermTable(numVars, truthTable, null).createFinalCover();
+		Calendar cal4 = Calendar.getInstance();
+
+		System.out.println("Edits Completed in " + (cal2.getTimeInMillis() - cal.getTimeInMillis()) + " milliseconds.");
+		System.out.println("recover() Completed in " + (cal3.getTimeInMillis() - cal2.getTimeInMillis()) + " milliseconds.");
+		System.out.println("Fresh Table Completed in " + (cal4.getTimeInMillis() - cal3.getTimeInMillis()) + " milliseconds.");
+		System.out.println("Implicants in Minimal Cover: " + recovered);
+		System.out.println("Matches createFinalCover(): " + new HashSet<String>(recovered).equals(new HashSet<String>(finalCover)));
+		System.out.println("Faster than a Fresh Table: "
+				+ (cal3.getTimeInMillis() - cal.getTimeInMillis() < cal4.getTimeInMillis() - cal3.getTimeInMillis()));
+		System.out.print("Test Completed!\n\n");
+	}
+
+
+	/**
+	 * Builds numFunctions random functions (some with don't-cares) both from their truth tables and from the
+	 * strings Tabulation derives from them, and checks that the two tables give the same cover. Functions without
+	 * don't-cares are checked again after removing and adding a minterm; a table built from strings does not know
+	 * the don't-cares, so its edits cannot use them.
+	 */
+	public static void runTruthTableTest(int numVars, int numFunctions, long seed) {
+		System.out.println("Number of Variables: " + numVars);
+		System.out.println("Number of Functions: " + numFunctions);
+		Random random = new Random(seed);
+		int words = Tabulation.wordsFor(numVars);
+		long full = (1L << numVars) - 1;
+		int matches = 0;
+
+		/* Start timer */
+		Calendar cal = Calendar.getInstance();
+		for (int f = 0; f < numFunctions; f++) {
+			long[] truthTable = new long[words];
+			long[] dontCares = random.nextBoolean() ? new long[words] : null;
+			for (int w = 0; w < words; w++) {
+				truthTable[w] = random.nextLong() & random.nextLong();
+				if (dontCares != null)
+					dontCares[w] = random.nextLong() & random.nextLong() & random.nextLong() & ~truthTable[w];
+			}
+			List<String> minterms = Tabulation.minterms(numVars, truthTable);
+			if (minterms.size() < 2)
+				continue;
+			ImplicantMintermTable fromTable = new ImplicantMintermTable(numVars, truthTable, dontCares);
+			ImplicantMintermTable fromStrings = new ImplicantMintermTable(numVars,
+					Tabulation.primeImplicants(numVars, truthTable, dontCares), minterms);
+			boolean match = fromTable.createFinalCover().equals(fromStrings.createFinalCover());
+
+			if (match && dontCares == null) {
+				String removed = minterms.get(random.nextInt(minterms.size()));
+				long added = random.nextLong() & full;
+				for (ImplicantMintermTable imt : Arrays.asList(fromTable, fromStrings)) {
+					imt.removeMinterm(removed);
+					imt.addMinterm(Tabulation.termString(numVars, full, added));
+				}
+				match = fromTable.recover().equals(fromStrings.recover());
+			}
+			if (match)
+				matches++;
+			else
+				System.out.println("Covers differ for truth table " + Arrays.toString(truthTable));
+		}
+
+		/* End timer */
+		Calendar cal2 = Calendar.getInstance();
+		long milliseconds = cal2.getTimeInMillis() - cal.getTimeInMillis();
+
+		System.out.println("Completed in " + milliseconds + " milliseconds.");
+		System.out.println("Functions with Matching Covers: " + matches + "/" + numFunctions);
+		System.out.print("Test Completed!\n\n");
+	}
+
+
+	/**
+	 * Builds numFunctions random functions (some with don't-cares) from their truth tables, minimizes each with
+	 * Espresso starting from its minterms, and checks every minterm against the cover: each on-set minterm must be
+	 * covered, and each minterm covered must be in the on-set or a don't-care. The cover size is also compared with
+	 * the minimum one createFinalCover() finds.
+	 */
+	public static void runEspressoTest(int numVars, int numFunctions, long seed) {
+		System.out.println("Number of Variables: " + numVars);
+		System.out.println("Number of Functions: " + numFunctions);
+		Random random = new Random(seed);
+		int words = Tabulation.wordsFor(numVars);
+		int valid = 0;
+		int minimum = 0;
+
+		/* Start timer */
+		Calendar cal = Calendar.getInstance();
+		for (int f = 0; f < numFunctions; f++) {
+			long[] truthTable = new long[words];
+			long[] dontCares = random.nextBoolean() ? new long[words] : null;
+			for (int w = 0; w < words; w++) {
+				truthTable[w] = random.nextLong() & random.nextLong();
+				if (dontCares != null)
+					dontCares[w] = random.nextLong() & random.nextLong() & random.nextLong() & ~truthTable[w];
+			}
+			List<String> cover = Espresso.minimize(numVars, Tabulation.minterms(numVars, truthTable),
+					dontCares == null ? null : Tabulation.minterms(numVars, dontCares));
+
+			boolean match = true;
+			for (long v = 0; v < (1L << numVars) && match; v++) {
+				boolean covered = false;
+				for (String term : cover)
+					covered |= (v & Tabulation.packMask(term)) == Tabulation.packValue(term);
+				boolean on = (truthTable[(int) (v >>> 6)] & (1L << v)) != 0;
+				boolean dc = dontCares != null && (dontCares[(int) (v >>> 6)] & (1L << v)) != 0;
+				match = on ? covered : !covered || dc;
+			}
+			if (match)
+				valid++;
+			else
+				System.out.println("Invalid cover for truth table " + Arrays.toString(truthTable));
+			if (cover.size() == new ImplicantMintermTable(numVars, truthTable, dontCares).createFinalCover().size())
+				minimum++;
+		}
+
+		/* End timer */
+		Calendar cal2 = Calendar.getInstance();
+		long milliseconds = cal2.getTimeInMillis() - cal.getTimeInMillis();
+
+		System.out.println("Completed in " + milliseconds + " milliseconds.");
+		System.out.println("Functions with Valid Covers: " + valid + "/" + numFunctions);
+		System.out.println("Covers as Small as createFinalCover(): " + minimum + "/" + numFunctions);
+		System.out.print("Test Completed!\n\n");
+	}
+
+
+	/**
+	 * Minimizes the function with a DistributedSearch over numWorkers worker processes, and checks the cover
+	 * against the one createFinalCover() finds on its own.
+	 */
+	public static void runDistributedTest(int numVars, List<String> implicants, List<String> minterms, int numWorkers) {
+		System.out.println("Number of Variables: " + numVars);
+		System.out.println("Number of Worker Processes: " + numWorkers);
+		List<String> finalCover = new ImplicantMintermTable(numVars, implicants, minterms).createFinalCover();
+
+		/* Start timer */
+		Calendar cal = Calendar.getInstance();
+		List<String> distributedCover;
+		try (DistributedSearch search = new DistributedSearch(numWorkers, true)) {
+			distributedCover = search.minimize(numVars, implicants, minterms);
+		} catch (IOException e) {
+			System.out.println("Distributed search failed: " + e);
+			return;
+		}
+
+		/* End timer */
+		Calendar cal2 = Calendar.getInstance();
+		long milliseconds = cal2.getTimeInMillis() - cal.getTimeInMillis();
+
+		System.out.println("Completed in " + milliseconds + " milliseconds.");
+		System.out.println("Implicants in Minimal Cover: " + distributedCover);
+		System.out.println("Matches createFinalCover(): " + distributedCover.equals(finalCover));
+		System.out.print("Test Completed!\n\n");
+	}
+
+
 	/** 
 	 * Generates a verilog file (fileName.v) containing a module that represents the function passed in
 	 * as the list of implicants, subject to the number of literals constaint. You may ignore this if you
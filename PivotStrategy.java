@@ -0,0 +1,106 @@
+import java.util.List;
+
+/**
+ * Chooses the implicant that ImplicantMintermTable branches on when a cyclic
+ * core remains. Strategies read the live degree counters kept by the table:
+ * rowDegree[i] is the number of uncovered minterms implicant i covers, and
+ * columnDegree[j] the number of uncovered implicants that cover minterm j, so
+ * scoring a row or column is a lookup rather than a BitVector intersection.
+ * Example usage:
+ *     imt.setPivotStrategy(PivotStrategy.RAREST_COLUMN_FIRST);
+ *
+ * Every strategy still yields a minimal cover; they only differ in how fast
+ * the search gets there and, among equally small covers, in which one it keeps.
+ */
+public interface PivotStrategy {
+	/* Implicant with the most uncovered minterms, ties broken lexicographically (the default) */
+	PivotStrategy MOST_COVERED = new MostCovered();
+
+	/* Most-covered implicant among those covering the uncovered minterm with the fewest implicants */
+	PivotStrategy RAREST_COLUMN_FIRST = new RarestColumnFirst();
+
+	/* Implicant maximizing the sum of 1/columnDegree over its uncovered minterms */
+	PivotStrategy WEIGHTED = new Weighted();
+
+	/**
+	 * Returns the index of an uncovered row (rowCover bit set) to branch on.
+	 * implicants holds the implicant string of every row, for tie-breaking.
+	 */
+	int selectPivot(CoverageMatrix matrix, BitVector rowCover, BitVector columnCover, int[] rowDegree,
+			int[] columnDegree, List<String> implicants);
+
+
+	class MostCovered implements PivotStrategy {
+		public int selectPivot(CoverageMatrix matrix, BitVector rowCover, BitVector columnCover, int[] rowDegree,
+				int[] columnDegree, List<String> implicants) {
+			ImplicantComparator comparator = new ImplicantComparator();
+			int pivotIndex = 0;
+			int pivotOnes = 0;
+			for (int i = 0; i < matrix.getNumRows(); i++) {
+				if (rowCover.getBit(i) == 1) {
+					if (rowDegree[i] > pivotOnes || (rowDegree[i] == pivotOnes
+							&& comparator.compare(implicants.get(i), implicants.get(pivotIndex)) < 0)) {
+						pivotIndex = i;
+						pivotOnes = rowDegree[i];
+					}
+				}
+			}
+			return pivotIndex;
+		}
+	}
+
+
+	class RarestColumnFirst implements PivotStrategy {
+		public int selectPivot(CoverageMatrix matrix, BitVector rowCover, BitVector columnCover, int[] rowDegree,
+				int[] columnDegree, List<String> implicants) {
+			// Branch on an implicant covering the uncovered minterm that the fewest
+			// implicants cover, so that the include/exclude split on it starts
+			// settling the most constrained part of the table first
+			int rarest = -1;
+			for (int j = 0; j < matrix.getNumColumns(); j++) {
+				if (columnCover.getBit(j) == 1 && (rarest < 0 || columnDegree[j] < columnDegree[rarest]))
+					rarest = j;
+			}
+			if (rarest < 0)
+				return MOST_COVERED.selectPivot(matrix, rowCover, columnCover, rowDegree, columnDegree, implicants);
+
+			ImplicantComparator comparator = new ImplicantComparator();
+			int pivotIndex = -1;
+			for (int i = matrix.nextInColumn(rarest, 0); i >= 0; i = matrix.nextInColumn(rarest, i + 1)) {
+				if (rowCover.getBit(i) == 1 && (pivotIndex < 0 || rowDegree[i] > rowDegree[pivotIndex]
+						|| (rowDegree[i] == rowDegree[pivotIndex]
+								&& comparator.compare(implicants.get(i), implicants.get(pivotIndex)) < 0)))
+					pivotIndex = i;
+			}
+			if (pivotIndex < 0)
+				return MOST_COVERED.selectPivot(matrix, rowCover, columnCover, rowDegree, columnDegree, implicants);
+			return pivotIndex;
+		}
+	}
+
+
+	class Weighted implements PivotStrategy {
+		public int selectPivot(CoverageMatrix matrix, BitVector rowCover, BitVector columnCover, int[] rowDegree,
+				int[] columnDegree, List<String> implicants) {
+			ImplicantComparator comparator = new ImplicantComparator();
+			int pivotIndex = -1;
+			double pivotWeight = 0;
+			for (int i = 0; i < matrix.getNumRows(); i++) {
+				if (rowCover.getBit(i) == 1) {
+					// Minterms few implicants can cover count for more
+					double weight = 0;
+					for (int j = matrix.nextInRow(i, 0); j >= 0; j = matrix.nextInRow(i, j + 1)) {
+						if (columnCover.getBit(j) == 1)
+							weight += 1.0 / columnDegree[j];
+					}
+					if (pivotIndex < 0 || weight > pivotWeight || (weight == pivotWeight
+							&& comparator.compare(implicants.get(i), implicants.get(pivotIndex)) < 0)) {
+						pivotIndex = i;
+						pivotWeight = weight;
+					}
+				}
+			}
+			return pivotIndex < 0 ? 0 : pivotIndex;
+		}
+	}
+}
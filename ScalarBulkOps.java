@@ -0,0 +1,54 @@
+/**
+ * Plain loop implementation of BulkOps; the fallback whenever the SIMD
+ * implementation cannot be loaded.
+ */
+public class ScalarBulkOps implements BulkOps {
+	public void and(long[] a, long[] b, long[] out, int length) {
+		for(int i = 0; i < length; i++)
+			out[i] = a[i] & b[i];
+	}
+
+
+	public void or(long[] a, long[] b, long[] out, int length) {
+		for(int i = 0; i < length; i++)
+			out[i] = a[i] | b[i];
+	}
+
+
+	public void xor(long[] a, long[] b, long[] out, int length) {
+		for(int i = 0; i < length; i++)
+			out[i] = a[i] ^ b[i];
+	}
+
+
+	public void andNot(long[] a, long[] b, long[] out, int length) {
+		for(int i = 0; i < length; i++)
+			out[i] = a[i] & ~b[i];
+	}
+
+
+	public int popcount(long[] a, int length) {
+		int cardinality = 0;
+		for(int i = 0; i < length; i++)
+			cardinality += Long.bitCount(a[i]);
+		return cardinality;
+	}
+
+
+	public boolean isSubset(long[] a, long[] b, int length) {
+		for(int i = 0; i < length; i++) {
+			if((a[i] & ~b[i]) != 0)
+				return false;
+		}
+		return true;
+	}
+
+
+	public boolean isSubsetWithin(long[] a, long[] b, long[] mask, int length) {
+		for(int i = 0; i < length; i++) {
+			if((a[i] & mask[i] & ~b[i]) != 0)
+				return false;
+		}
+		return true;
+	}
+}
@@ -0,0 +1,155 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Worker side of DistributedSearch. It connects back to the coordinator on
+ * the loopback interface and solves the Subtrees it is sent, reporting
+ * covers as soon as they are found and giving away branches when asked.
+ * DistributedSearch starts it with the port to connect to:
+ *     java SearchWorker 40123
+ *
+ * One thread reads messages, so bounds and steal requests reach the table
+ * while another thread is searching; all writes come from the search thread.
+ */
+public class SearchWorker implements ImplicantMintermTable.SearchListener {
+	private static final Subtree STOP = new Subtree(new BitVector(1), new BitVector(1), List.of(), "");
+
+	private Socket socket;
+	private DataInputStream in;
+	private DataOutputStream out;
+	private volatile ImplicantMintermTable table;
+	private volatile int bound; // Bound of the last Subtree received
+	private AtomicBoolean stealRequested = new AtomicBoolean();
+	private BlockingQueue<Subtree> subtrees = new LinkedBlockingQueue<Subtree>();
+
+
+	public static void main(String[] args) throws IOException {
+		run(Integer.parseInt(args[0]));
+	}
+
+
+	/* Connects to the coordinator listening on the port and serves it until shut down */
+	public static void run(int port) throws IOException {
+		try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+			socket.setTcpNoDelay(true);
+			new SearchWorker(socket).serve();
+		}
+	}
+
+
+	private SearchWorker(Socket socket) throws IOException {
+		this.socket = socket;
+		in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+		out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+	}
+
+
+	/* Reads messages until shutdown, while a second thread runs the searches */
+	private void serve() throws IOException {
+		Thread searcher = new Thread(this::search, "SearchWorker-search");
+		searcher.setDaemon(true);
+		searcher.start();
+		try {
+			while (true) {
+				byte type;
+				try {
+					type = in.readByte();
+				} catch (EOFException e) {
+					return; // Coordinator went away
+				}
+				if (type == DistributedSearch.PROBLEM) {
+					int numVars = in.readInt();
+					List<String> implicants = DistributedSearch.readStrings(in);
+					List<String> minterms = DistributedSearch.readStrings(in);
+					table = new ImplicantMintermTable(numVars, implicants, minterms);
+				} else if (type == DistributedSearch.SUBTREE) {
+					// Steal requests only ever concern the Subtree being searched
+					stealRequested.set(false);
+					bound = in.readInt();
+					subtrees.add(Subtree.read(in));
+				} else if (type == DistributedSearch.BOUND) {
+					// The Subtree may not have started yet, and would then start from bound
+					int size = in.readInt();
+					bound = Math.min(bound, size);
+					if (table != null)
+						table.lowerBound(size);
+				} else if (type == DistributedSearch.STEAL) {
+					stealRequested.set(true);
+				} else if (type == DistributedSearch.SHUTDOWN) {
+					return;
+				} else {
+					throw new IOException("Unknown message type " + type);
+				}
+			}
+		} finally {
+			subtrees.add(STOP);
+		}
+	}
+
+
+	/* Search thread: solves Subtrees in turn and sends back the results */
+	private void search() {
+		try {
+			while (true) {
+				Subtree subtree = subtrees.take();
+				if (subtree == STOP)
+					return;
+				List<String> cover = table.solveSubtree(subtree, bound, this);
+				out.writeByte(DistributedSearch.RESULT);
+				out.writeBoolean(cover != null);
+				if (cover != null) {
+					DistributedSearch.writeStrings(out, cover);
+					out.writeUTF(table.getCoverPath());
+				}
+				out.flush();
+			}
+		} catch (InterruptedException | IOException | RuntimeException e) {
+			// Without a result the coordinator would wait forever, so drop the
+			// connection to make it notice
+			try {
+				socket.close();
+			} catch (IOException closeError) {
+				// Closing is all that is left to do
+			}
+		}
+	}
+
+
+	public void coverFound(int size) {
+		try {
+			out.writeByte(DistributedSearch.BOUND);
+			out.writeInt(size);
+			out.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+
+	public boolean wantsBranch() {
+		return stealRequested.get();
+	}
+
+
+	public void donate(Subtree branch) {
+		stealRequested.set(false);
+		try {
+			out.writeByte(DistributedSearch.DONATE);
+			branch.write(out);
+			out.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,106 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A node of the branch-and-bound tree that ImplicantMintermTable searches when
+ * a cyclic core remains: the rows and columns still uncovered, the implicants
+ * chosen on the way down, and the path from the root, with a '0' for every
+ * branch that took the pivot and a '1' for every branch that left it out.
+ * The search visits the tree in path order and keeps the first of several
+ * equally small covers, so comparing the paths of two covers breaks ties the
+ * same way a single search would. Example usage:
+ *     Subtree root = Subtree.root(implicants.size(), minterms.size());
+ *
+ * Subtrees are what DistributedSearch sends between processes; write() and
+ * read() give them a compact binary form.
+ */
+public class Subtree {
+	private BitVector rowCover; // Has a 1 for each uncovered row
+	private BitVector columnCover; // Has a 1 for each uncovered column
+	private List<String> cover; // Implicants chosen above this node
+	private String path;
+
+
+	public Subtree(BitVector rowCover, BitVector columnCover, List<String> cover, String path) {
+		this.rowCover = rowCover;
+		this.columnCover = columnCover;
+		this.cover = Collections.unmodifiableList(new ArrayList<String>(cover));
+		this.path = path;
+	}
+
+
+	/* The whole search: every row and column uncovered and nothing chosen */
+	public static Subtree root(int numRows, int numColumns) {
+		BitVector rowCover = new BitVector(numRows);
+		BitVector columnCover = new BitVector(numColumns);
+		for (int i = 0; i < numRows; i++)
+			rowCover.setBit(i);
+		for (int j = 0; j < numColumns; j++)
+			columnCover.setBit(j);
+		return new Subtree(rowCover, columnCover, new ArrayList<String>(), "");
+	}
+
+
+	public BitVector getRowCover() {
+		return rowCover;
+	}
+
+
+	public BitVector getColumnCover() {
+		return columnCover;
+	}
+
+
+	public List<String> getCover() {
+		return cover;
+	}
+
+
+	public String getPath() {
+		return path;
+	}
+
+
+	/* Layout: row cover, column cover, implicant count, implicants, path */
+	public void write(DataOutputStream out) throws IOException {
+		writeBits(out, rowCover);
+		writeBits(out, columnCover);
+		out.writeInt(cover.size());
+		for (String implicant : cover)
+			out.writeUTF(implicant);
+		out.writeUTF(path);
+	}
+
+
+	public static Subtree read(DataInputStream in) throws IOException {
+		BitVector rowCover = readBits(in);
+		BitVector columnCover = readBits(in);
+		int count = in.readInt();
+		List<String> cover = new ArrayList<String>(count);
+		for (int i = 0; i < count; i++)
+			cover.add(in.readUTF());
+		return new Subtree(rowCover, columnCover, cover, in.readUTF());
+	}
+
+
+	/* Bit vector layout: size in bits, number of longs, then the longs */
+	private static void writeBits(DataOutputStream out, BitVector bits) throws IOException {
+		out.writeInt(bits.getSize());
+		out.writeInt(bits.getNumLongs());
+		for (int i = 0; i < bits.getNumLongs(); i++)
+			out.writeLong(bits.getLong(i));
+	}
+
+
+	private static BitVector readBits(DataInputStream in) throws IOException {
+		int size = in.readInt();
+		long[] words = new long[in.readInt()];
+		for (int i = 0; i < words.length; i++)
+			words[i] = in.readLong();
+		return new BitVector(size, words);
+	}
+}
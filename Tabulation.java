@@ -0,0 +1,185 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tabulation over dense truth tables. A function of numVars variables is given
+ * as a bitmap of 2^numVars bits packed into longs, where bit v is set if
+ * minterm v is in the on-set and bit i of v is 1 for the un-complemented i-th
+ * literal (so minterm aBc of a 3-variable function is bit 0b101). An optional
+ * don't-care bitmap of the same layout may be passed, or null. Example usage:
+ *     List<String> primes = Tabulation.primeImplicants(3, truthTable, null);
+ *
+ * Prime implicants are found a whole bitmap at a time: the cubes with a given
+ * set of free literals form a bitmap (one bit per cube, at its lowest
+ * minterm), freeing one more literal is a shift and an AND of that bitmap, and
+ * a cube is prime when no neighbouring cube along a fixed literal is also an
+ * implicant.
+ */
+public class Tabulation {
+	public static final int MAX_VARS = 26; // One letter per literal
+
+	/* Bit patterns with a 1 wherever literal i (< 6) of the bit position is 0 */
+	private static final long[] LOW_HALVES = { 0x5555555555555555L, 0x3333333333333333L, 0x0F0F0F0F0F0F0F0FL,
+			0x00FF00FF00FF00FFL, 0x0000FFFF0000FFFFL, 0x00000000FFFFFFFFL };
+
+
+	/* Returns the prime implicants of the function as strings */
+	public static List<String> primeImplicants(int numVars, long[] truthTable, long[] dontCares) {
+		List<String> primes = new ArrayList<String>();
+		for (long[] cube : primeCubes(numVars, truthTable, dontCares))
+			primes.add(termString(numVars, cube[0], cube[1]));
+		return primes;
+	}
+
+
+	/* Returns the minterms of the on-set as strings, in increasing order */
+	public static List<String> minterms(int numVars, long[] truthTable) {
+		List<String> minterms = new ArrayList<String>();
+		long full = (1L << numVars) - 1;
+		long[] onSet = validBits(numVars, truthTable);
+		for (int w = 0; w < onSet.length; w++) {
+			for (long bits = onSet[w]; bits != 0; bits &= bits - 1)
+				minterms.add(termString(numVars, full, 64L * w + Long.numberOfTrailingZeros(bits)));
+		}
+		return minterms;
+	}
+
+
+	/**
+	 * Returns the prime implicants of the function as {mask, value} pairs, where
+	 * mask has bit i set if the i-th literal appears and value holds its
+	 * polarity. Primes made up only of don't-cares are left out, since they
+	 * can never be part of a minimal cover.
+	 */
+	public static List<long[]> primeCubes(int numVars, long[] truthTable, long[] dontCares) {
+		long[] onSet = validBits(numVars, truthTable);
+		long[] implicants = onSet.clone();
+		if (dontCares != null) {
+			long[] valid = validBits(numVars, dontCares);
+			for (int w = 0; w < implicants.length; w++)
+				implicants[w] |= valid[w];
+		}
+
+		List<long[]> primes = new ArrayList<long[]>();
+		expand(numVars, 0, 0, implicants, onSet, primes);
+		return primes;
+	}
+
+
+	/* Number of longs a bitmap over numVars variables occupies */
+	public static int wordsFor(int numVars) {
+		return numVars <= 6 ? 1 : 1 << (numVars - 6);
+	}
+
+
+	/* Formats a packed cube the way implicants are written (capitalized for complemented literals) */
+	public static String termString(int numVars, long mask, long value) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < numVars; i++) {
+			if ((mask & (1L << i)) != 0)
+				sb.append((char) (i + (int) ((value & (1L << i)) != 0 ? 'a' : 'A')));
+		}
+		return sb.toString();
+	}
+
+
+	/* Packs a term into a long with bit i set for each un-complemented (lowercase) literal */
+	public static long packValue(String term) {
+		long packed = 0;
+		for (int i = 0; i < term.length(); i++) {
+			if (Character.isLowerCase(term.charAt(i)))
+				packed |= 1L << (term.charAt(i) - 'a');
+		}
+		return packed;
+	}
+
+
+	/* Packs a term into a long with bit i set for each literal it contains; the inverse of termString() with packValue() */
+	public static long packMask(String term) {
+		long packed = 0;
+		for (int i = 0; i < term.length(); i++)
+			packed |= 1L << (Character.toLowerCase(term.charAt(i)) - 'a');
+		return packed;
+	}
+
+
+	/**
+	 * Emits the primes among the cubes whose free literals are exactly
+	 * freeMask, then frees each literal from nextVar on in turn. implicants has
+	 * a bit for every such cube that is an implicant, and onSet a bit for every
+	 * such cube that contains at least one on-set minterm.
+	 */
+	private static void expand(int numVars, long freeMask, int nextVar, long[] implicants, long[] onSet,
+			List<long[]> primes) {
+		long mask = ((1L << numVars) - 1) & ~freeMask;
+		for (int w = 0; w < implicants.length; w++) {
+			long bits = implicants[w] & onSet[w];
+			if (bits == 0)
+				continue;
+
+			// Drop cubes whose neighbour along some fixed literal is an implicant
+			for (int i = 0; i < numVars && bits != 0; i++) {
+				if ((freeMask & (1L << i)) != 0)
+					continue;
+				if (i < 6) {
+					long pairs = implicants[w] & (implicants[w] >>> (1 << i)) & LOW_HALVES[i];
+					bits &= ~(pairs | (pairs << (1 << i)));
+				} else {
+					bits &= ~implicants[w ^ (1 << (i - 6))];
+				}
+			}
+			for (; bits != 0; bits &= bits - 1)
+				primes.add(new long[] { mask, 64L * w + Long.numberOfTrailingZeros(bits) });
+		}
+
+		for (int i = nextVar; i < numVars; i++) {
+			long[] wider = combine(implicants, i, true);
+			long[] widerOnSet = combine(onSet, i, false);
+			boolean useful = false;
+			for (int w = 0; w < wider.length && !useful; w++)
+				useful = (wider[w] & widerOnSet[w]) != 0;
+			if (useful)
+				expand(numVars, freeMask | (1L << i), i + 1, wider, widerOnSet, primes);
+		}
+	}
+
+
+	/**
+	 * Frees literal i: each cube is joined with its neighbour along i, and the
+	 * result is kept at the position of the lower of the two. With and set the
+	 * result is an implicant if both halves are; otherwise it contains an
+	 * on-set minterm if either half does.
+	 */
+	private static long[] combine(long[] cubes, int i, boolean and) {
+		long[] result = new long[cubes.length];
+		if (i < 6) {
+			int shift = 1 << i;
+			for (int w = 0; w < cubes.length; w++) {
+				long upper = cubes[w] >>> shift;
+				result[w] = (and ? cubes[w] & upper : cubes[w] | upper) & LOW_HALVES[i];
+			}
+		} else {
+			int offset = 1 << (i - 6);
+			for (int w = 0; w < cubes.length; w++) {
+				if ((w & offset) == 0)
+					result[w] = and ? cubes[w] & cubes[w | offset] : cubes[w] | cubes[w | offset];
+			}
+		}
+		return result;
+	}
+
+
+	/* Copies the bitmap, clearing any bits past the 2^numVars that belong to the function */
+	static long[] validBits(int numVars, long[] bitmap) {
+		if (numVars < 0 || numVars > MAX_VARS)
+			throw new IllegalArgumentException("Number of variables must be between 0 and " + MAX_VARS);
+		int words = wordsFor(numVars);
+		if (bitmap.length < words)
+			throw new IllegalArgumentException("Truth table of " + numVars + " variables needs " + words + " longs");
+		long[] valid = new long[words];
+		System.arraycopy(bitmap, 0, valid, 0, words);
+		if (numVars < 6)
+			valid[0] &= (1L << (1 << numVars)) - 1;
+		return valid;
+	}
+}
@@ -0,0 +1,252 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import jdk.incubator.foreign.MemoryAccess;
+import jdk.incubator.foreign.MemorySegment;
+import jdk.incubator.foreign.ResourceScope;
+
+/**
+ * CoverageMatrix stored outside the Java heap in MemorySegments, so that even
+ * multi-gigabyte tables add nothing for the garbage collector to trace. The
+ * rows live in one contiguous row-major block (row r starts at long
+ * r * rowLongs) and the columns in a column-major mirror of the same bits.
+ * It lives in its own source folder because it needs the incubator module:
+ *     javac --add-modules jdk.incubator.foreign -cp . -d . foreign/OffHeapCoverageMatrix.java
+ *     java --add-modules jdk.incubator.foreign Main
+ * Example usage:
+ *     try (ResourceScope scope = ResourceScope.newConfinedScope()) {
+ *         ImplicantMintermTable imt = new ImplicantMintermTable(numVars, implicants, minterms,
+ *                 OffHeapCoverageMatrix.factory(scope, spillDirectory, 1L << 30));
+ *         List<String> finalCover = imt.createFinalCover();
+ *     } // Every matrix created through the factory is freed (or unmapped) here
+ *
+ * The memory belongs to a ResourceScope: a matrix is freed when its scope is
+ * closed, and must not be used afterwards. Matrices larger than a threshold can
+ * be mapped onto a file instead, so that the operating system pages them to
+ * disk rather than the process running out of memory. The matrix has a fixed
+ * shape (canGrow() is false), so tables backed by it reject incremental edits.
+ */
+public class OffHeapCoverageMatrix implements CoverageMatrix, AutoCloseable {
+	private int numRows;
+	private int numColumns;
+	private long rowLongs; // Longs per row, one bit per column
+	private long columnLongs; // Longs per column, one bit per row
+	private MemorySegment rowMajor;
+	private MemorySegment columnMajor;
+	private ResourceScope ownScope; // Only set if this matrix created its scope
+
+
+	/* Create a matrix in native memory that is freed by close() */
+	public OffHeapCoverageMatrix(int numRows, int numColumns) {
+		this(numRows, numColumns, ResourceScope.newSharedScope(), null);
+		ownScope = rowMajor.scope();
+	}
+
+
+	/* Create a matrix whose lifetime is that of scope; if spillFile is not null it is (over)written and mapped */
+	public OffHeapCoverageMatrix(int numRows, int numColumns, ResourceScope scope, Path spillFile) {
+		this.numRows = numRows;
+		this.numColumns = numColumns;
+		this.rowLongs = ((numColumns - 1) / 64) + 1;
+		this.columnLongs = ((numRows - 1) / 64) + 1;
+		long rowBytes = 8 * rowLongs * numRows;
+		long columnBytes = 8 * columnLongs * numColumns;
+
+		MemorySegment block;
+		if (spillFile == null) {
+			block = MemorySegment.allocateNative(rowBytes + columnBytes, 8, scope); // Zero-filled
+		} else {
+			try {
+				// Start from an empty file so that the mapping reads as all zeroes
+				FileChannel.open(spillFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+						StandardOpenOption.TRUNCATE_EXISTING).close();
+				block = MemorySegment.mapFile(spillFile, 0, rowBytes + columnBytes, FileChannel.MapMode.READ_WRITE,
+						scope);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		rowMajor = block.asSlice(0, rowBytes);
+		columnMajor = block.asSlice(rowBytes, columnBytes);
+	}
+
+
+	/**
+	 * Returns a factory for ImplicantMintermTable whose matrices belong to scope.
+	 * Matrices of more than spillThresholdBytes are mapped onto temporary files
+	 * in spillDirectory, deleted when scope is closed (or at the latest when the
+	 * JVM exits); pass a null directory to always use native memory.
+	 */
+	public static CoverageMatrix.Factory factory(final ResourceScope scope, final Path spillDirectory,
+			final long spillThresholdBytes) {
+		return new CoverageMatrix.Factory() {
+			public CoverageMatrix create(int numRows, int numColumns) {
+				long bytes = 8L * (((numColumns - 1) / 64) + 1) * numRows + 8L * (((numRows - 1) / 64) + 1) * numColumns;
+				Path spillFile = null;
+				if (spillDirectory != null && bytes > spillThresholdBytes) {
+					try {
+						spillFile = Files.createTempFile(spillDirectory, "coverage", ".matrix");
+						spillFile.toFile().deleteOnExit();
+						final Path file = spillFile;
+						scope.addCloseAction(() -> {
+							try {
+								Files.deleteIfExists(file);
+							} catch (IOException e) {
+								// Left for deleteOnExit()
+							}
+						});
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				}
+				return new OffHeapCoverageMatrix(numRows, numColumns, scope, spillFile);
+			}
+		};
+	}
+
+
+	public int getNumRows() {
+		return numRows;
+	}
+
+
+	public int getNumColumns() {
+		return numColumns;
+	}
+
+
+	public void setBit(int row, int column) {
+		long rowIndex = row * rowLongs + column / 64;
+		long columnIndex = column * columnLongs + row / 64;
+		MemoryAccess.setLongAtIndex(rowMajor, rowIndex,
+				MemoryAccess.getLongAtIndex(rowMajor, rowIndex) | (1L << (column % 64)));
+		MemoryAccess.setLongAtIndex(columnMajor, columnIndex,
+				MemoryAccess.getLongAtIndex(columnMajor, columnIndex) | (1L << (row % 64)));
+	}
+
+
+	public int getBit(int row, int column) {
+		long chunk = MemoryAccess.getLongAtIndex(rowMajor, row * rowLongs + column / 64);
+		return (chunk & (1L << (column % 64))) != 0 ? 1 : 0;
+	}
+
+
+	/* Copies the row onto the heap */
+	public BitVector getRow(int row) {
+		return copyOut(rowMajor, row * rowLongs, (int) rowLongs, numColumns);
+	}
+
+
+	/* Copies the column onto the heap */
+	public BitVector getColumn(int column) {
+		return copyOut(columnMajor, column * columnLongs, (int) columnLongs, numRows);
+	}
+
+
+	public int nextInRow(int row, int fromColumn) {
+		return next(rowMajor, row * rowLongs, numColumns, fromColumn);
+	}
+
+
+	public int nextInColumn(int column, int fromRow) {
+		return next(columnMajor, column * columnLongs, numRows, fromRow);
+	}
+
+
+	public boolean isRowSubset(int row, int otherRow, BitVector columnMask) {
+		return isSubset(rowMajor, row * rowLongs, otherRow * rowLongs, (int) rowLongs, numColumns, columnMask);
+	}
+
+
+	public boolean isColumnSubset(int column, int otherColumn, BitVector rowMask) {
+		return isSubset(columnMajor, column * columnLongs, otherColumn * columnLongs, (int) columnLongs, numRows,
+				rowMask);
+	}
+
+
+	public int countRow(int row, BitVector columnMask) {
+		return count(rowMajor, row * rowLongs, (int) rowLongs, numColumns, columnMask);
+	}
+
+
+	public int countColumn(int column, BitVector rowMask) {
+		return count(columnMajor, column * columnLongs, (int) columnLongs, numRows, rowMask);
+	}
+
+
+	public boolean canGrow() {
+		return false;
+	}
+
+
+	public int addRow() {
+		throw new UnsupportedOperationException("Off-heap coverage matrices have a fixed shape");
+	}
+
+
+	public int addColumn() {
+		throw new UnsupportedOperationException("Off-heap coverage matrices have a fixed shape");
+	}
+
+
+	/* Frees the memory if the matrix owns its scope; otherwise the scope's owner does */
+	public void close() {
+		if (ownScope != null) {
+			ownScope.close();
+			ownScope = null;
+		}
+	}
+
+
+	/* Copies numLongs longs starting at long index start into a new BitVector */
+	private static BitVector copyOut(MemorySegment segment, long start, int numLongs, int size) {
+		long[] words = new long[numLongs];
+		MemorySegment.ofArray(words).copyFrom(segment.asSlice(8 * start, 8L * numLongs));
+		return new BitVector(size, words);
+	}
+
+
+	/* Same as BitVector.getNextBitIdx() on the size bits starting at long index start */
+	private static int next(MemorySegment segment, long start, int size, int fromIndex) {
+		if (fromIndex >= size)
+			return -1;
+		int numLongs = ((size - 1) / 64) + 1;
+		int k = fromIndex / 64;
+		long word = MemoryAccess.getLongAtIndex(segment, start + k) & ((-1L) << (fromIndex % 64));
+		while (word == 0) {
+			if (++k == numLongs)
+				return -1;
+			word = MemoryAccess.getLongAtIndex(segment, start + k);
+		}
+		int index = 64 * k + Long.numberOfTrailingZeros(word);
+		return (index < size) ? index : -1;
+	}
+
+
+	/* Same as BitVector.isSubsetOf(other, mask) for the vectors at long indices start and otherStart */
+	private static boolean isSubset(MemorySegment segment, long start, long otherStart, int numLongs, int size,
+			BitVector mask) {
+		int numCompared = Math.min(numLongs, ((Math.min(size, mask.getSize()) - 1) / 64) + 1);
+		for (int k = 0; k < numCompared; k++) {
+			long outside = MemoryAccess.getLongAtIndex(segment, start + k) & mask.getLong(k)
+					& ~MemoryAccess.getLongAtIndex(segment, otherStart + k);
+			if (outside != 0)
+				return false;
+		}
+		return true;
+	}
+
+
+	/* Same count as BitVector.intersection(mask).getCardinality(), without copying */
+	private static int count(MemorySegment segment, long start, int numLongs, int size, BitVector mask) {
+		int numCounted = Math.min(numLongs, ((Math.min(size, mask.getSize()) - 1) / 64) + 1);
+		int cardinality = 0;
+		for (int k = 0; k < numCounted; k++)
+			cardinality += Long.bitCount(MemoryAccess.getLongAtIndex(segment, start + k) & mask.getLong(k));
+		return cardinality;
+	}
+}
@@ -0,0 +1,110 @@
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD implementation of BulkOps on jdk.incubator.vector. It lives in its own
+ * source folder because it only compiles and runs with the incubator module:
+ *     javac --add-modules jdk.incubator.vector -cp . -d . vector/VectorBulkOps.java
+ *     java --add-modules jdk.incubator.vector -DBitVector.vector=true Main
+ * BitVector only loads it when asked to, and falls back to ScalarBulkOps if that fails.
+ * Each kernel handles whole vectors first and finishes the tail with scalar code.
+ */
+public class VectorBulkOps implements BulkOps {
+	private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+	/* Masks for the SWAR popcount (the incubator API has no lane-wise bit count yet) */
+	private static final long ONES_1 = 0x5555555555555555L;
+	private static final long ONES_2 = 0x3333333333333333L;
+	private static final long ONES_4 = 0x0F0F0F0F0F0F0F0FL;
+	private static final long BYTES = 0x0101010101010101L;
+
+
+	public void and(long[] a, long[] b, long[] out, int length) {
+		int i = 0;
+		for(int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length())
+			LongVector.fromArray(SPECIES, a, i).and(LongVector.fromArray(SPECIES, b, i)).intoArray(out, i);
+		for(; i < length; i++)
+			out[i] = a[i] & b[i];
+	}
+
+
+	public void or(long[] a, long[] b, long[] out, int length) {
+		int i = 0;
+		for(int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length())
+			LongVector.fromArray(SPECIES, a, i).or(LongVector.fromArray(SPECIES, b, i)).intoArray(out, i);
+		for(; i < length; i++)
+			out[i] = a[i] | b[i];
+	}
+
+
+	public void xor(long[] a, long[] b, long[] out, int length) {
+		int i = 0;
+		for(int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+			LongVector.fromArray(SPECIES, a, i)
+					.lanewise(VectorOperators.XOR, LongVector.fromArray(SPECIES, b, i)).intoArray(out, i);
+		}
+		for(; i < length; i++)
+			out[i] = a[i] ^ b[i];
+	}
+
+
+	public void andNot(long[] a, long[] b, long[] out, int length) {
+		int i = 0;
+		for(int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+			LongVector.fromArray(SPECIES, a, i)
+					.lanewise(VectorOperators.AND_NOT, LongVector.fromArray(SPECIES, b, i)).intoArray(out, i);
+		}
+		for(; i < length; i++)
+			out[i] = a[i] & ~b[i];
+	}
+
+
+	public int popcount(long[] a, int length) {
+		int i = 0;
+		LongVector counts = LongVector.zero(SPECIES);
+		for(int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+			LongVector x = LongVector.fromArray(SPECIES, a, i);
+			x = x.sub(x.lanewise(VectorOperators.LSHR, 1).and(ONES_1));
+			x = x.and(ONES_2).add(x.lanewise(VectorOperators.LSHR, 2).and(ONES_2));
+			x = x.add(x.lanewise(VectorOperators.LSHR, 4)).and(ONES_4);
+			counts = counts.add(x.mul(BYTES).lanewise(VectorOperators.LSHR, 56));
+		}
+		int cardinality = (int) counts.reduceLanes(VectorOperators.ADD);
+		for(; i < length; i++)
+			cardinality += Long.bitCount(a[i]);
+		return cardinality;
+	}
+
+
+	public boolean isSubset(long[] a, long[] b, int length) {
+		int i = 0;
+		for(int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+			LongVector outside = LongVector.fromArray(SPECIES, a, i)
+					.lanewise(VectorOperators.AND_NOT, LongVector.fromArray(SPECIES, b, i));
+			if(outside.reduceLanes(VectorOperators.OR) != 0)
+				return false;
+		}
+		for(; i < length; i++) {
+			if((a[i] & ~b[i]) != 0)
+				return false;
+		}
+		return true;
+	}
+
+
+	public boolean isSubsetWithin(long[] a, long[] b, long[] mask, int length) {
+		int i = 0;
+		for(int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+			LongVector outside = LongVector.fromArray(SPECIES, a, i).and(LongVector.fromArray(SPECIES, mask, i))
+					.lanewise(VectorOperators.AND_NOT, LongVector.fromArray(SPECIES, b, i));
+			if(outside.reduceLanes(VectorOperators.OR) != 0)
+				return false;
+		}
+		for(; i < length; i++) {
+			if((a[i] & mask[i] & ~b[i]) != 0)
+				return false;
+		}
+		return true;
+	}
+}